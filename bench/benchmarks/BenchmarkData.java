@@ -0,0 +1,164 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import database.Read;
+import records.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the benchmark database and builds in-memory records for the rendering benchmarks.
+ *
+ * All in-memory values are derived from the row number, so every run sees the same data.
+ */
+public class BenchmarkData {
+  // The indexes added by the schema migrations, which take a MySQL lock and so cannot run on an embedded database
+  private static final List<String> INDEXES = List.of(
+    "CREATE INDEX idx_projects_finalised_deadline ON projects (Finalised, Deadline)",
+    "CREATE INDEX idx_projects_engineer ON projects (EngineerID)",
+    "CREATE INDEX idx_projects_manager ON projects (ManagerID)",
+    "CREATE INDEX idx_projects_architect ON projects (ArchitectID)",
+    "CREATE INDEX idx_projects_contractor ON projects (ContractorID)",
+    "CREATE INDEX idx_projects_customer ON projects (CustomerID)",
+    "CREATE INDEX idx_engineers_name ON engineers (Name)",
+    "CREATE INDEX idx_managers_name ON managers (Name)",
+    "CREATE INDEX idx_architects_name ON architects (Name)",
+    "CREATE INDEX idx_contractors_name ON contractors (Name)",
+    "CREATE INDEX idx_customers_name ON customers (Name)"
+  );
+
+  private BenchmarkData() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Creates the tables of init_database/createTables.sql and the indexes of the schema migrations
+   * in an empty embedded database.
+   *
+   * @param schema The path of createTables.sql.
+   * @throws UncheckedIOException If the schema could not be read.
+   */
+  public static void createSchema(Path schema) {
+    String sql;
+    try {
+      sql = Files.readString(schema);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    List<String> statements = new ArrayList<>();
+    for (String statement : sql.replaceAll("(?s)/\\*.*?\\*/", "").split(";")) {
+      if (!statement.isBlank()) {
+        statements.add(statement.strip());
+      }
+    }
+    statements.addAll(INDEXES);
+
+    for (String statement : statements) {
+      if (DatabaseManager.executeUpdate(statement) < 0) {
+        throw new IllegalStateException("Could not create the benchmark schema: " + statement);
+      }
+    }
+  }
+
+  /**
+   * Tops the database up to the given number of projects with {@link DataGenerator}.
+   * Existing rows are kept, so seeding a larger size reuses a smaller one.
+   *
+   * @param projects The number of projects the database should hold.
+   */
+  public static void seed(int projects) {
+    int existing = count("projects");
+    if (existing < projects) {
+      DataGenerator.generate(DataGenerator.Settings.fromSystemProperties(projects - existing));
+    }
+  }
+
+  /**
+   * Builds projects in memory, without touching the database.
+   *
+   * @param count The number of projects.
+   * @return      The projects, each with a full set of people.
+   */
+  public static List<Project> projects(int count) {
+    List<Project> projects = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Customer customer = Read.createPerson(Customer.class, i + 1, "Customer " + i, "555-0100", "c@example.com", "1 Road");
+      Project project = project(i, customer);
+      projects.add(new Project(
+        i + 1, project.projectName(), project.buildingType(), project.physicalAddress(), project.erfNumber(),
+        project.totalFee(), project.amountPaidToDate(), project.startDate(), project.deadline(), project.finalised(),
+        project.completionDate(),
+        Read.createPerson(Engineer.class, i + 1, "Engineer " + i, "555-0101", "e@example.com", "2 Road"),
+        Read.createPerson(Manager.class, i + 1, "Manager " + i, "555-0102", "m@example.com", "3 Road"),
+        Read.createPerson(Architect.class, i + 1, "Architect " + i, "555-0103", "a@example.com", "4 Road"),
+        Read.createPerson(Contractor.class, i + 1, "Contractor " + i, "555-0104", "k@example.com", "5 Road"),
+        customer
+      ));
+    }
+    return projects;
+  }
+
+  /**
+   * Builds people in memory, without touching the database.
+   *
+   * @param count The number of people.
+   * @return      The people.
+   */
+  public static List<Person> persons(int count) {
+    List<Person> persons = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      persons.add(person(Contractor.class, i + 1));
+    }
+    return persons;
+  }
+
+  /**
+   * @return The number of rows in a table.
+   */
+  private static int count(String table) {
+    Object count = DatabaseManager.executeQuery("SELECT COUNT(*) AS Count FROM " + table).getFirst().get("Count");
+    return ((Number) count).intValue();
+  }
+
+  /**
+   * @return The person with the given row number.
+   */
+  private static <T extends Person> T person(Class<T> clazz, int row) {
+    String role = clazz.getSimpleName();
+    return Read.createPerson(clazz, 0, role + " " + row, String.format("555-%07d", row),
+      role.toLowerCase() + row + "@example.com", row + " Benchmark Street");
+  }
+
+  /**
+   * @return The project with the given row number.
+   */
+  private static Project project(int row, Customer customer) {
+    LocalDate startDate = LocalDate.of(2020, 1, 1).plusDays(row % 1000);
+    return new Project(
+      0,
+      "Project " + row,
+      (row % 3 == 0) ? "House" : (row % 3 == 1) ? "Apartment" : "Warehouse",
+      row + " Site Road",
+      "ERF" + row,
+      BigDecimal.valueOf(100_000 + row % 900_000, 2),
+      BigDecimal.ZERO,
+      java.sql.Date.valueOf(startDate),
+      java.sql.Date.valueOf(startDate.plusDays(365)),
+      row % 4 == 0,
+      null,
+      null,
+      null,
+      null,
+      null,
+      customer
+    );
+  }
+}
@@ -0,0 +1,278 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import database.Read;
+import database.Repositories;
+import records.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates large, reproducible PoisePMS datasets for benchmarks and capacity tests.
+ *
+ * Every value is drawn from a random generator seeded with a fixed seed, so the same settings
+ * always produce the same data. Projects are assigned to people with a skewed distribution, so
+ * a few people carry many projects and most carry few, and a share of projects is finalised,
+ * overdue or missing people. Rows are loaded in chunks through the batched inserts of the
+ * {@link Repositories}, so the generator fills the database or, with
+ * -Dpoisepms.repository=memory, the in-memory repositories.
+ *
+ * Usage:
+ * <pre>
+ *   ./gradlew generateData -Pargs=1000000 \
+ *     -Dpoisepms.db.url="jdbc:mysql://localhost:3306/PoisePMS_bench?useSSL=false"
+ * </pre>
+ */
+public class DataGenerator {
+  // Rows built and inserted at a time
+  private static final int CHUNK_SIZE = 10_000;
+
+  // Date the dates of the projects are generated around (-Dgenerator.referenceDate). The database
+  // measures "overdue" against today, so pass today's date to get exactly the configured overdue ratio.
+  private static final LocalDate DEFAULT_REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+  private static final String[] FIRST_NAMES = {
+    "Thabo", "Lerato", "Sipho", "Naledi", "Johan", "Annelie", "Pieter", "Zanele", "Ahmed", "Fatima",
+    "David", "Sarah", "Michael", "Aisha", "Kagiso", "Lindiwe", "Ruan", "Chloe", "Themba", "Priya"
+  };
+  private static final String[] LAST_NAMES = {
+    "Nkosi", "Dlamini", "van der Merwe", "Botha", "Naidoo", "Pillay", "Mokoena", "Khumalo", "Smith", "Jacobs",
+    "Ndlovu", "Williams", "Pretorius", "Adams", "Mahlangu", "Daniels", "Sithole", "Kruger", "Petersen", "Patel"
+  };
+  private static final String[] STREETS = {
+    "Main Road", "Church Street", "Long Street", "Oak Avenue", "Voortrekker Road", "Beach Road",
+    "Jan Smuts Avenue", "Victoria Street", "Market Street", "Kloof Street"
+  };
+  private static final String[] CITIES = {
+    "Cape Town", "Johannesburg", "Durban", "Pretoria", "Gqeberha", "Bloemfontein", "East London", "Polokwane"
+  };
+  private static final String[] BUILDING_TYPES = {
+    "House", "Apartment", "Townhouse", "Office", "Warehouse", "Retail", "School", "Clinic"
+  };
+
+  /**
+   * The shape of a generated dataset.
+   *
+   * @param projects          The number of projects to generate.
+   * @param seed              The seed of the random generator.
+   * @param projectsPerPerson The number of projects per person of each role, on average.
+   * @param finalisedRatio    The share of projects that are finalised.
+   * @param overdueRatio      The share of projects that are not finalised and past their deadline.
+   * @param unassignedRatio   The chance that a project has no one in a given role, other than customer.
+   * @param skew              How unevenly projects are spread over people. 1 is uniform, higher values
+   *                          give more projects to fewer people.
+   * @param referenceDate     The date that "overdue" is measured against. Fixed by default, so the same
+   *                          settings give the same dates on any day.
+   */
+  public record Settings(int projects, long seed, int projectsPerPerson, double finalisedRatio,
+                         double overdueRatio, double unassignedRatio, double skew, LocalDate referenceDate) {
+
+    /**
+     * Reads the settings from -Dgenerator.&lt;setting&gt;=&lt;value&gt; system properties.
+     *
+     * @param projects The number of projects to generate.
+     * @return         The settings.
+     */
+    public static Settings fromSystemProperties(int projects) {
+      String referenceDate = System.getProperty("generator.referenceDate");
+      return new Settings(
+        projects,
+        Long.getLong("generator.seed", 42L),
+        Math.max(1, Integer.getInteger("generator.projectsPerPerson", 20)),
+        Double.parseDouble(System.getProperty("generator.finalisedRatio", "0.3")),
+        Double.parseDouble(System.getProperty("generator.overdueRatio", "0.1")),
+        Double.parseDouble(System.getProperty("generator.unassignedRatio", "0.05")),
+        Double.parseDouble(System.getProperty("generator.skew", "3")),
+        (referenceDate == null) ? DEFAULT_REFERENCE_DATE : LocalDate.parse(referenceDate)
+      );
+    }
+  }
+
+  private DataGenerator() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      System.out.println("Usage: java benchmarks.DataGenerator <number of projects>");
+      return;
+    }
+
+    if (!Repositories.isInMemory()) {
+      DatabaseManager.migrate();
+    }
+    try {
+      generate(Settings.fromSystemProperties(Integer.parseInt(args[0])));
+    } finally {
+      DatabaseManager.shutdown();
+    }
+  }
+
+  /**
+   * Generates a dataset and loads it into the database.
+   *
+   * @param settings The shape of the dataset.
+   */
+  public static void generate(Settings settings) {
+    System.out.println("Generating " + settings.projects() + " projects with seed " + settings.seed()
+      + " and reference date " + settings.referenceDate());
+    long startedAt = System.nanoTime();
+    SplittableRandom random = new SplittableRandom(settings.seed());
+    int people = Math.max(1, (settings.projects() + settings.projectsPerPerson() - 1) / settings.projectsPerPerson());
+
+    int[] engineers = generatePersons(Engineer.class, people, random);
+    int[] managers = generatePersons(Manager.class, people, random);
+    int[] architects = generatePersons(Architect.class, people, random);
+    int[] contractors = generatePersons(Contractor.class, people, random);
+    int[] customers = generatePersons(Customer.class, people, random);
+
+    for (int row = 0; row < settings.projects(); row += CHUNK_SIZE) {
+      List<Project> chunk = new ArrayList<>(CHUNK_SIZE);
+      for (int i = row; i < Math.min(row + CHUNK_SIZE, settings.projects()); i++) {
+        chunk.add(project(i, settings, random, engineers, managers, architects, contractors, customers));
+      }
+      if (Repositories.projects().createAll(chunk).isEmpty()) {
+        System.out.println("Stopped generating: projects could not be inserted.");
+        return;
+      }
+
+      int generated = Math.min(row + CHUNK_SIZE, settings.projects());
+      if (generated % 100_000 == 0 || generated == settings.projects()) {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        System.out.printf("Generated %d of %d projects (%.0f rows/sec)%n",
+          generated, settings.projects(), (generated + 5.0 * people) / seconds);
+      }
+    }
+  }
+
+  /**
+   * Generates and inserts the people of one role.
+   *
+   * @param clazz  The class type of the people.
+   * @param count  The number of people.
+   * @param random The random generator.
+   * @param <T>    The type of person.
+   * @return       The IDs of the inserted people.
+   */
+  private static <T extends Person> int[] generatePersons(Class<T> clazz, int count, SplittableRandom random) {
+    int[] ids = new int[count];
+    for (int row = 0; row < count; row += CHUNK_SIZE) {
+      List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+      for (int i = row; i < Math.min(row + CHUNK_SIZE, count); i++) {
+        String firstName = pick(FIRST_NAMES, random);
+        String lastName = pick(LAST_NAMES, random);
+        chunk.add(Read.createPerson(
+          clazz,
+          0,
+          firstName + " " + lastName,
+          String.format("0%02d-%03d-%04d", 10 + random.nextInt(80), random.nextInt(1000), random.nextInt(10_000)),
+          (firstName + "." + lastName).toLowerCase().replace(" ", "") + i + "@example.com",
+          address(random)
+        ));
+      }
+
+      List<T> created = Repositories.persons().createAll(clazz, chunk);
+      if (created.size() != chunk.size()) {
+        throw new IllegalStateException("Could not insert " + clazz.getSimpleName().toLowerCase() + "s.");
+      }
+      for (int i = 0; i < created.size(); i++) {
+        ids[row + i] = created.get(i).id();
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Generates one project.
+   *
+   * @return The project, referring to its people by ID.
+   */
+  private static Project project(int row, Settings settings, SplittableRandom random, int[] engineers,
+                                 int[] managers, int[] architects, int[] contractors, int[] customers) {
+    LocalDate today = settings.referenceDate();
+    LocalDate startDate = today.minusDays(random.nextInt(5 * 365));
+    double status = random.nextDouble();
+    boolean finalised = status < settings.finalisedRatio();
+    boolean overdue = !finalised && status < settings.finalisedRatio() + settings.overdueRatio();
+
+    LocalDate deadline;
+    if (overdue) {
+      deadline = today.minusDays(1 + random.nextInt(365));
+    } else {
+      deadline = (finalised ? startDate : today).plusDays(1 + random.nextInt(2 * 365));
+    }
+    LocalDate completionDate = finalised ? startDate.plusDays(random.nextInt(2 * 365)) : null;
+    if (completionDate != null && completionDate.isAfter(today)) {
+      completionDate = today;
+    }
+
+    BigDecimal totalFee = BigDecimal.valueOf(50_000_00L + random.nextLong(5_000_000_00L), 2);
+    BigDecimal amountPaid = finalised
+      ? totalFee
+      : totalFee.multiply(BigDecimal.valueOf(random.nextInt(101), 2));
+
+    return new Project(
+      0,
+      pick(BUILDING_TYPES, random) + " " + (row + 1),
+      pick(BUILDING_TYPES, random),
+      address(random),
+      "ERF" + (100_000 + random.nextInt(900_000)),
+      totalFee,
+      amountPaid,
+      java.sql.Date.valueOf(startDate),
+      java.sql.Date.valueOf(deadline),
+      finalised,
+      (completionDate == null) ? null : java.sql.Date.valueOf(completionDate),
+      reference(Engineer.class, assign(engineers, settings, random, true)),
+      reference(Manager.class, assign(managers, settings, random, true)),
+      reference(Architect.class, assign(architects, settings, random, true)),
+      reference(Contractor.class, assign(contractors, settings, random, true)),
+      reference(Customer.class, assign(customers, settings, random, false))
+    );
+  }
+
+  /**
+   * Picks the person assigned to a project, favouring people at the start of the list.
+   *
+   * Raising a uniform number to the power of the skew bunches the picks towards zero:
+   * with a skew of 3, the first 10% of people carry close to half of the projects.
+   *
+   * @param ids        The IDs of the people of the role.
+   * @param settings   The shape of the dataset.
+   * @param random     The random generator.
+   * @param optional   Whether the role may be left unassigned.
+   * @return           The ID of the assigned person, or null if no one is assigned.
+   */
+  private static Integer assign(int[] ids, Settings settings, SplittableRandom random, boolean optional) {
+    if (optional && random.nextDouble() < settings.unassignedRatio()) {
+      return null;
+    }
+    int index = (int) (ids.length * Math.pow(random.nextDouble(), settings.skew()));
+    return ids[Math.min(index, ids.length - 1)];
+  }
+
+  /**
+   * @return A person carrying only an ID, or null if no ID is given.
+   */
+  private static <T extends Person> T reference(Class<T> clazz, Integer id) {
+    return (id == null) ? null : Read.createPerson(clazz, id, null, null, null, null);
+  }
+
+  /**
+   * @return A random street address.
+   */
+  private static String address(SplittableRandom random) {
+    return (1 + random.nextInt(999)) + " " + pick(STREETS, random) + ", " + pick(CITIES, random);
+  }
+
+  /**
+   * @return A random element of the array.
+   */
+  private static String pick(String[] values, SplittableRandom random) {
+    return values[random.nextInt(values.length)];
+  }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import database.ProjectCriteria;
+import database.Read;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import records.Contractor;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the database and row-mapping hot paths against an embedded H2 database in MySQL mode.
+ *
+ * Each number of rows runs in its own fork, which creates the schema in a fresh in-memory database
+ * and seeds it with {@link DataGenerator}. The query, project and person caches are turned off so
+ * every operation reaches the database. Run with {@code gradle jmh}; see the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+  "-Dpoisepms.queryCache.maxSize=0",
+  "-Dpoisepms.projectCache.maxSize=0",
+  "-Dpoisepms.personCache.maxSize=0"
+})
+public class DatabaseBenchmarks {
+  @Param({"1000", "100000", "1000000"})
+  public int rows;
+
+  @Setup(Level.Trial)
+  public void seed() {
+    BenchmarkData.createSchema(Path.of(System.getProperty("bench.schema", "init_database/createTables.sql")));
+    BenchmarkData.seed(rows);
+  }
+
+  @TearDown(Level.Trial)
+  public void shutdown() {
+    DatabaseManager.shutdown();
+  }
+
+  @Benchmark
+  public void executeQueryProjects(Blackhole blackhole) {
+    blackhole.consume(DatabaseManager.executeQuery("SELECT * FROM projects LIMIT ?", rows));
+  }
+
+  @Benchmark
+  public void readProjectsAll(Blackhole blackhole) {
+    blackhole.consume(Read.readProjects(ProjectCriteria.all()));
+  }
+
+  @Benchmark
+  public void readProjectsIncomplete(Blackhole blackhole) {
+    blackhole.consume(Read.readProjects(ProjectCriteria.all().finalised(false)));
+  }
+
+  @Benchmark
+  public void getAllPersonsContractors(Blackhole blackhole) {
+    blackhole.consume(Read.getAllPersons(Contractor.class, List.of()));
+  }
+}
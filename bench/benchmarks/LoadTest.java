@@ -0,0 +1,410 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import database.ProjectCriteria;
+import database.ProjectPage;
+import database.Repositories;
+import menu.options.capture.CaptureProject;
+import menu.options.manage.ManagePeople;
+import menu.options.manage.ProjectChanger;
+import menu.options.manage.ProjectFinder;
+import records.Customer;
+import records.Person;
+import records.Project;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the menu workflows as many concurrent users and reports their throughput and latency.
+ *
+ * Each virtual user runs on its own virtual thread and repeatedly picks a workflow, feeds it a
+ * scripted {@link Scanner} and times it from the first prompt to the return to the main menu.
+ * The test is run once for every number of users given, so the step where throughput stops
+ * rising and latency climbs shows the saturation point.
+ *
+ * Run against a scratch database seeded with {@link DataGenerator}, as projects and people are
+ * captured, edited and deleted:
+ * <pre>
+ *   ./gradlew loadTest -Pargs="1 2 4 8 16 32 64" \
+ *     -Dpoisepms.db.url="jdbc:mysql://localhost:3306/PoisePMS_bench?useSSL=false"
+ * </pre>
+ *
+ * The caches are left as configured, so the results reflect the program as it is deployed.
+ * With -Dpoisepms.repository=memory the workflows run against the in-memory repositories,
+ * seeded with -Dload.projects projects, which shows the cost of the program without the database.
+ */
+public class LoadTest {
+  // Load settings, overridable with -Dload.<setting>=<value>
+  private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("load.warmupSeconds", 5L));
+  private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("load.durationSeconds", 30L));
+  private static final long THINK_MILLIS = Long.getLong("load.thinkMillis", 0L);
+  private static final long SEED = Long.getLong("load.seed", 42L);
+  private static final int IN_MEMORY_PROJECTS = Integer.getInteger("load.projects", 100_000);
+  private static final int[] DEFAULT_USERS = {1, 2, 4, 8, 16, 32, 64};
+
+  // Number of existing customers a captured project is assigned to
+  private static final int CUSTOMER_SAMPLE_SIZE = 1_000;
+
+  private static final String[] BUILDING_TYPES = {
+    "House", "Apartment", "Townhouse", "Office", "Warehouse", "Retail", "School", "Clinic"
+  };
+
+  /**
+   * The workflows a virtual user can run.
+   */
+  enum Workflow {
+    CAPTURE,
+    FIND,
+    EDIT,
+    DELETE
+  }
+
+  /**
+   * The project numbers and customers the workflows pick from.
+   *
+   * @param firstProjectNumber The lowest project number in the database.
+   * @param lastProjectNumber  The highest project number in the database.
+   * @param customerIds        The IDs of existing customers.
+   */
+  private record Dataset(int firstProjectNumber, int lastProjectNumber, int[] customerIds) {
+  }
+
+  /**
+   * The latencies of one workflow, in nanoseconds.
+   */
+  private static class Samples {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    /**
+     * Records the latency of a completed run.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    void add(long nanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+    }
+
+    /**
+     * Adds the runs recorded by another user.
+     *
+     * @param other The samples to add.
+     */
+    void addAll(Samples other) {
+      for (int i = 0; i < other.count; i++) {
+        add(other.latencies[i]);
+      }
+      errors += other.errors;
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     * @return           The latency at the percentile in milliseconds, by nearest rank, or 0 if there are no runs.
+     */
+    double percentileMillis(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      int rank = (int) Math.ceil(percentile / 100 * count);
+      return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+  }
+
+  private LoadTest() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  public static void main(String[] args) throws Exception {
+    int[] steps = DEFAULT_USERS;
+    if (args.length > 0) {
+      steps = new int[args.length];
+      for (int i = 0; i < args.length; i++) {
+        steps[i] = Integer.parseInt(args[i]);
+      }
+    }
+    Map<Workflow, Integer> mix = parseMix(System.getProperty("load.mix", "capture=1,find=6,edit=2,delete=1"));
+
+    PrintStream console = System.out;
+    if (Repositories.isInMemory()) {
+      DataGenerator.generate(DataGenerator.Settings.fromSystemProperties(IN_MEMORY_PROJECTS));
+    } else {
+      DatabaseManager.migrate();
+    }
+    try {
+      Dataset dataset = loadDataset();
+      if (dataset == null) {
+        console.println("The database has no projects or customers. Seed it with benchmarks.DataGenerator first.");
+        return;
+      }
+
+      console.printf("%-8s %-10s %10s %8s %10s %10s %10s%n", "Users", "Workflow", "ops/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+      for (int users : steps) {
+        // The workflows print their menus, which would drown the report
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Map<Workflow, Samples> results;
+        try {
+          results = runStep(users, mix, dataset);
+        } finally {
+          System.setOut(console);
+        }
+        report(console, users, results);
+      }
+    } finally {
+      System.setOut(console);
+      DatabaseManager.shutdown();
+    }
+  }
+
+  /**
+   * Runs the given number of virtual users for one warmup and measurement period.
+   *
+   * @param users   The number of concurrent users.
+   * @param mix     The relative weight of each workflow.
+   * @param dataset The data the workflows pick from.
+   * @return        The latencies of each workflow, measured after the warmup.
+   * @throws Exception If a user could not be run.
+   */
+  private static Map<Workflow, Samples> runStep(int users, Map<Workflow, Integer> mix, Dataset dataset)
+    throws Exception {
+
+    long measureFrom = System.nanoTime() + WARMUP_NANOS;
+    long stopAt = measureFrom + DURATION_NANOS;
+    SplittableRandom seeds = new SplittableRandom(SEED + users);
+
+    List<Future<Map<Workflow, Samples>>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int user = 0; user < users; user++) {
+        SplittableRandom random = seeds.split();
+        futures.add(executor.submit(() -> runUser(random, mix, dataset, measureFrom, stopAt)));
+      }
+    }
+
+    Map<Workflow, Samples> results = new EnumMap<>(Workflow.class);
+    for (Future<Map<Workflow, Samples>> future : futures) {
+      future.get().forEach((workflow, samples) ->
+        results.computeIfAbsent(workflow, w -> new Samples()).addAll(samples));
+    }
+    return results;
+  }
+
+  /**
+   * Runs one virtual user until the end of the measurement period.
+   *
+   * @param random      The random generator of the user.
+   * @param mix         The relative weight of each workflow.
+   * @param dataset     The data the workflows pick from.
+   * @param measureFrom The time, from {@link System#nanoTime()}, at which measurement starts.
+   * @param stopAt      The time at which the user stops.
+   * @return            The latencies of the workflows the user ran after the warmup.
+   * @throws InterruptedException If the user is interrupted while thinking.
+   */
+  private static Map<Workflow, Samples> runUser(SplittableRandom random, Map<Workflow, Integer> mix,
+                                                Dataset dataset, long measureFrom, long stopAt)
+    throws InterruptedException {
+
+    Map<Workflow, Samples> samples = new EnumMap<>(Workflow.class);
+    int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+    while (System.nanoTime() < stopAt) {
+      Workflow workflow = pick(mix, totalWeight, random);
+      boolean failed = false;
+      long startedAt = System.nanoTime();
+      try {
+        run(workflow, random, dataset);
+      } catch (RuntimeException e) {
+        // Typically a script that ran out of input because the workflow took an unexpected path
+        failed = true;
+      }
+      long finishedAt = System.nanoTime();
+
+      if (startedAt >= measureFrom && finishedAt <= stopAt) {
+        Samples workflowSamples = samples.computeIfAbsent(workflow, w -> new Samples());
+        if (failed) {
+          workflowSamples.errors++;
+        } else {
+          workflowSamples.add(finishedAt - startedAt);
+        }
+      }
+      if (THINK_MILLIS > 0) {
+        Thread.sleep(THINK_MILLIS);
+      }
+    }
+    return samples;
+  }
+
+  /**
+   * Runs one workflow with scripted input, as a user at the menu would.
+   *
+   * @param workflow The workflow to run.
+   * @param random   The random generator of the user.
+   * @param dataset  The data the workflow picks from.
+   */
+  private static void run(Workflow workflow, SplittableRandom random, Dataset dataset) {
+    switch (workflow) {
+      case CAPTURE -> {
+        int customerId = dataset.customerIds()[random.nextInt(dataset.customerIds().length)];
+        CaptureProject.captureProject(script(
+          "",
+          BUILDING_TYPES[random.nextInt(BUILDING_TYPES.length)],
+          (1 + random.nextInt(999)) + " Load Test Road",
+          "ERF" + (100_000 + random.nextInt(900_000)),
+          String.valueOf(50_000 + random.nextInt(5_000_000)),
+          LocalDate.now().plusDays(1 + random.nextInt(730)).toString(),
+          String.valueOf(customerId),
+          "n"
+        ));
+      }
+      case FIND -> {
+        if (random.nextBoolean()) {
+          ProjectFinder.findProject(script("1", String.valueOf(projectNumber(random, dataset))));
+        } else {
+          String name = BUILDING_TYPES[random.nextInt(BUILDING_TYPES.length)] + " " + (1 + random.nextInt(999));
+          ProjectFinder.findProject(script("2", name, "n", "0"));
+        }
+      }
+      case EDIT -> {
+        // Reload the project as the manage menu does before opening it
+        Project project = null;
+        for (int attempt = 0; attempt < 10 && project == null; attempt++) {
+          project = Repositories.projects().findByNumber(projectNumber(random, dataset));
+        }
+        if (project == null) {
+          throw new IllegalStateException("No project found to edit.");
+        }
+        ProjectChanger.projectChanger(script(
+          "1", "Edited " + BUILDING_TYPES[random.nextInt(BUILDING_TYPES.length)] + " " + project.projectNumber(),
+          "6", String.valueOf(random.nextInt(1_000)),
+          "0"
+        ), project);
+      }
+      case DELETE -> {
+        // A person is created for each delete so the seeded data is left intact
+        Person contractor = Repositories.persons().create(
+          "contractor", "Load Test", "000-000-0000", "load.test@example.com", "1 Load Test Road");
+        if (contractor == null) {
+          throw new IllegalStateException("Could not create a contractor to delete.");
+        }
+        ManagePeople.managePeople(script("2", "1", String.valueOf(contractor.id()), "y", "0"));
+      }
+    }
+  }
+
+  /**
+   * Prints the throughput and latency percentiles of each workflow for one step.
+   *
+   * @param console The stream to print to.
+   * @param users   The number of concurrent users.
+   * @param results The latencies of each workflow.
+   */
+  private static void report(PrintStream console, int users, Map<Workflow, Samples> results) {
+    double seconds = DURATION_NANOS / 1e9;
+    int totalRuns = 0;
+    int totalErrors = 0;
+    Samples all = new Samples();
+
+    for (Map.Entry<Workflow, Samples> entry : results.entrySet()) {
+      Samples samples = entry.getValue();
+      console.printf("%-8d %-10s %10.1f %8d %10.2f %10.2f %10.2f%n",
+        users, entry.getKey().name().toLowerCase(), samples.count / seconds, samples.errors,
+        samples.percentileMillis(50), samples.percentileMillis(95), samples.percentileMillis(99));
+      totalRuns += samples.count;
+      totalErrors += samples.errors;
+      all.addAll(samples);
+    }
+    console.printf("%-8d %-10s %10.1f %8d %10.2f %10.2f %10.2f%n%n",
+      users, "total", totalRuns / seconds, totalErrors,
+      all.percentileMillis(50), all.percentileMillis(95), all.percentileMillis(99));
+  }
+
+  /**
+   * Reads the range of project numbers and a sample of customers.
+   *
+   * @return The dataset, or null if the database has no projects or customers.
+   */
+  private static Dataset loadDataset() {
+    ProjectPage first = Repositories.projects().findAfter(ProjectCriteria.all(), 0, 1);
+    ProjectPage last = Repositories.projects().findBefore(ProjectCriteria.all(), Integer.MAX_VALUE, 1);
+    if (first.projects().isEmpty() || last.projects().isEmpty()) {
+      return null;
+    }
+
+    int[] customerIds = Repositories.persons().findAll(Customer.class, List.of()).stream()
+      .limit(CUSTOMER_SAMPLE_SIZE)
+      .mapToInt(Person::id)
+      .toArray();
+    if (customerIds.length == 0) {
+      return null;
+    }
+
+    return new Dataset(first.firstProjectNumber(), last.lastProjectNumber(), customerIds);
+  }
+
+  /**
+   * Parses a workflow mix such as "capture=1,find=6,edit=2,delete=1".
+   *
+   * @param mix The mix. Workflows left out are not run.
+   * @return    The weight of each workflow.
+   */
+  private static Map<Workflow, Integer> parseMix(String mix) {
+    Map<Workflow, Integer> weights = new EnumMap<>(Workflow.class);
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.split("=");
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight > 0) {
+        weights.put(Workflow.valueOf(parts[0].trim().toUpperCase()), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The workflow mix must give at least one workflow a weight: " + mix);
+    }
+    return weights;
+  }
+
+  /**
+   * @return A workflow picked at random, in proportion to its weight.
+   */
+  private static Workflow pick(Map<Workflow, Integer> mix, int totalWeight, SplittableRandom random) {
+    int ticket = random.nextInt(totalWeight);
+    for (Map.Entry<Workflow, Integer> entry : mix.entrySet()) {
+      ticket -= entry.getValue();
+      if (ticket < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("Workflow weights changed while picking.");
+  }
+
+  /**
+   * @return A project number between the first and last in the database. Deleted numbers may be returned.
+   */
+  private static int projectNumber(SplittableRandom random, Dataset dataset) {
+    return random.nextInt(dataset.firstProjectNumber(), dataset.lastProjectNumber() + 1);
+  }
+
+  /**
+   * @param lines The lines the user types, in order.
+   * @return      A scanner that reads the lines as if they were typed.
+   */
+  private static Scanner script(String... lines) {
+    return new Scanner(String.join("\n", lines) + "\n");
+  }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import records.Person;
+import records.Project;
+import utils.outputs.DisplayPersons;
+import utils.outputs.DisplayProjects;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering the project and person tables, without a database.
+ *
+ * The tables are printed to a discarded stream, so only building and formatting them is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderingBenchmarks {
+  @Param({"1000", "100000", "1000000"})
+  public int rows;
+
+  private List<Project> projects;
+  private List<Person> persons;
+  private PrintStream console;
+
+  @Setup(Level.Trial)
+  public void build() {
+    projects = BenchmarkData.projects(rows);
+    persons = BenchmarkData.persons(rows);
+    console = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  @TearDown(Level.Trial)
+  public void restoreConsole() {
+    System.setOut(console);
+  }
+
+  @Benchmark
+  public void displayProjectsTable() {
+    DisplayProjects.displayProjectsTable(projects, 100);
+  }
+
+  @Benchmark
+  public void displayPersonsTable() {
+    DisplayPersons.displayPersonsTable(persons, 100);
+  }
+}
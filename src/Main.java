@@ -1,7 +1,95 @@
+import database.DatabaseManager;
+import database.ProjectCriteria;
+import database.Repositories;
 import menu.Menu;
+import records.*;
+import utils.inputs.CsvImport;
+import utils.inputs.ImportReport;
+import utils.outputs.ProjectExport;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class Main {
   public static void main(String[] args) {
+    // With -Dpoisepms.repository=memory there is no database to migrate
+    if (!Repositories.isInMemory()) {
+      DatabaseManager.migrate();
+    }
+
+    // java Main import <projects|engineers|managers|architects|contractors|customers> <file.csv>
+    if (args.length > 0 && args[0].equals("import")) {
+      importFile(args);
+      DatabaseManager.shutdown();
+      return;
+    }
+
+    // java Main export <csv|jsonl> <file>
+    if (args.length > 0 && args[0].equals("export")) {
+      exportFile(args);
+      DatabaseManager.shutdown();
+      return;
+    }
+
     Menu.displayMenu();
   }
-}
\ No newline at end of file
+
+  /**
+   * Imports a CSV file named on the command line and prints the outcome.
+   *
+   * @param args The command line arguments: "import", the kind of records and the path of the file.
+   */
+  private static void importFile(String[] args) {
+    if (args.length != 3) {
+      System.out.println("Usage: java Main import <projects|engineers|managers|architects|contractors|customers> <file.csv>");
+      return;
+    }
+
+    Path file = Path.of(args[2]);
+    try {
+      ImportReport report = switch (args[1].toLowerCase()) {
+        case "projects" -> CsvImport.importProjects(file);
+        case "engineers" -> CsvImport.importPersons(file, Engineer.class);
+        case "managers" -> CsvImport.importPersons(file, Manager.class);
+        case "architects" -> CsvImport.importPersons(file, Architect.class);
+        case "contractors" -> CsvImport.importPersons(file, Contractor.class);
+        case "customers" -> CsvImport.importPersons(file, Customer.class);
+        default -> throw new IllegalArgumentException("Invalid records to import: " + args[1]);
+      };
+      System.out.println(report);
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Import failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Exports every project to the file named on the command line and prints the outcome.
+   *
+   * @param args The command line arguments: "export", the format and the path of the file.
+   */
+  private static void exportFile(String[] args) {
+    if (args.length != 3) {
+      System.out.println("Usage: java Main export <csv|jsonl> <file>");
+      return;
+    }
+
+    try {
+      ProjectExport.Format format = switch (args[1].toLowerCase()) {
+        case "csv" -> ProjectExport.Format.CSV;
+        case "jsonl" -> ProjectExport.Format.JSON_LINES;
+        default -> throw new IllegalArgumentException("Invalid export format: " + args[1]);
+      };
+
+      long startedAt = System.nanoTime();
+      long exported = ProjectExport.exportProjects(Path.of(args[2]), format, ProjectCriteria.all());
+      double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+      if (exported < 0) {
+        System.out.println("Export failed: the projects could not be read.");
+      } else {
+        System.out.printf("%d projects exported in %.1fs%n", exported, seconds);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Export failed: " + e.getMessage());
+    }
+  }
+}
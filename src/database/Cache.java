@@ -0,0 +1,176 @@
+package database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, thread-safe read-through cache with least-recently-used and time-based eviction.
+ *
+ * Entries are evicted once the cache holds more than its maximum size, or once they are older
+ * than the time to live. Values loaded while an invalidation is in progress are not cached,
+ * so a write followed by an invalidation can never be hidden by a slower, older read.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+class Cache<K, V> {
+  private final String name;
+  private final int maxSize;
+  private final long timeToLiveNanos;
+  private final Map<K, Entry<V>> entries;
+  private long generation;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * A cached value and the System.nanoTime() at which it expires, if the cache has a time to live.
+   */
+  private record Entry<V>(V value, long expiresAt) {
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param name              The name the cache is reported under.
+   * @param maxSize           The maximum number of entries.
+   * @param timeToLiveMillis  How long an entry stays valid, or 0 for no time limit.
+   */
+  Cache(String name, int maxSize, long timeToLiveMillis) {
+    this.name = name;
+    this.maxSize = maxSize;
+    this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        if (size() <= Cache.this.maxSize) {
+          return false;
+        }
+        evictions.increment();
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached value for a key, loading and caching it on a miss.
+   * The loader runs without holding the cache's lock. Null values are not cached.
+   *
+   * @param key    The key to look up.
+   * @param loader Loads the value if it is not cached.
+   * @return       The cached or loaded value, or null if the loader returned null.
+   */
+  V get(K key, Function<? super K, ? extends V> loader) {
+    long loadGeneration;
+    synchronized (this) {
+      V value = lookup(key);
+      if (value != null) {
+        return value;
+      }
+      loadGeneration = generation;
+    }
+
+    V loaded = loader.apply(key);
+    if (loaded != null) {
+      synchronized (this) {
+        // Skip caching if the entry was invalidated while it was being loaded
+        if (generation == loadGeneration) {
+          store(key, loaded);
+        }
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Returns the cached value for a key without loading it.
+   *
+   * @param key The key to look up.
+   * @return    The cached value, or null if it is not cached or has expired.
+   */
+  synchronized V getIfPresent(K key) {
+    return lookup(key);
+  }
+
+  /**
+   * Caches a value, replacing any existing value for the key.
+   *
+   * @param key   The key.
+   * @param value The value to cache.
+   */
+  synchronized void put(K key, V value) {
+    store(key, value);
+  }
+
+  /**
+   * Removes the entry for a key.
+   *
+   * @param key The key to invalidate.
+   */
+  synchronized void invalidate(K key) {
+    generation++;
+    entries.remove(key);
+  }
+
+  /**
+   * Removes every entry whose key matches a predicate.
+   *
+   * @param predicate Selects the keys to invalidate.
+   */
+  synchronized void invalidateIf(Predicate<? super K> predicate) {
+    generation++;
+    entries.keySet().removeIf(predicate);
+  }
+
+  /**
+   * Removes every entry.
+   */
+  synchronized void invalidateAll() {
+    generation++;
+    entries.clear();
+  }
+
+  /**
+   * @return A snapshot of the cache's counters.
+   */
+  synchronized CacheStats stats() {
+    return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+  }
+
+  /**
+   * Looks up a key, dropping the entry if it has expired. Must be called while holding the lock.
+   *
+   * @param key The key to look up.
+   * @return    The cached value, or null on a miss.
+   */
+  private V lookup(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && timeToLiveNanos > 0 && System.nanoTime() - entry.expiresAt() >= 0) {
+      entries.remove(key);
+      evictions.increment();
+      entry = null;
+    }
+
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.value();
+  }
+
+  /**
+   * Stores a value with a fresh expiry time. Must be called while holding the lock.
+   *
+   * @param key   The key.
+   * @param value The value to cache.
+   */
+  private void store(K key, V value) {
+    entries.put(key, new Entry<>(value, System.nanoTime() + timeToLiveNanos));
+  }
+}
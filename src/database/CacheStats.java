@@ -0,0 +1,22 @@
+package database;
+
+/**
+ * A snapshot of a cache's counters, used to tune its size and time to live.
+ *
+ * @param name      The name of the cache.
+ * @param hits      The number of lookups served from the cache.
+ * @param misses    The number of lookups that had to go to the database.
+ * @param evictions The number of entries dropped because the cache was full or they expired.
+ * @param size      The number of entries currently cached.
+ * @param maxSize   The maximum number of entries.
+ */
+public record CacheStats(String name, long hits, long misses, long evictions, int size, int maxSize) {
+
+  /**
+   * @return The fraction of lookups served from the cache, or 0 if there were none.
+   */
+  public double hitRate() {
+    long requests = hits + misses;
+    return (requests == 0) ? 0 : (double) hits / requests;
+  }
+}
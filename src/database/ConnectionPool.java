@@ -0,0 +1,246 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of reusable database connections.
+ *
+ * Connections are borrowed with {@link #borrow()} and handed back by closing the returned
+ * {@link PooledConnection}. The pool keeps at least {@code minSize} connections open once it
+ * has been used, never opens more than {@code maxSize}, evicts connections that have been idle
+ * for longer than the idle timeout and validates idle connections before lending them out.
+ */
+class ConnectionPool implements AutoCloseable {
+  // Connections handed back more recently than this are trusted without a validation round trip
+  private static final long VALIDATION_SKIP_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+  private final ConnectionFactory factory;
+  private final int minSize;
+  private final int maxSize;
+  private final long idleTimeoutNanos;
+  private final long borrowTimeoutMillis;
+  private final int validationTimeoutSeconds;
+  private final int statementCacheSize;
+
+  private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+  private final AtomicInteger openConnections = new AtomicInteger();
+  private final Semaphore permits;
+  private final ScheduledExecutorService maintenance;
+  private volatile boolean maintenanceStarted;
+  private volatile boolean closed;
+
+  /**
+   * Opens new physical connections for the pool.
+   */
+  @FunctionalInterface
+  interface ConnectionFactory {
+    Connection create() throws SQLException;
+  }
+
+  /**
+   * Creates a new connection pool. No connections are opened until the first borrow.
+   *
+   * @param factory                  The factory used to open physical connections.
+   * @param minSize                  The number of connections to keep open while idle.
+   * @param maxSize                  The maximum number of connections open at once.
+   * @param idleTimeoutMillis        How long a connection may sit idle before it is evicted.
+   * @param borrowTimeoutMillis      How long {@link #borrow()} waits for a free connection.
+   * @param validationTimeoutSeconds How long validating a connection may take.
+   * @param statementCacheSize       The number of prepared statements cached per connection.
+   */
+  ConnectionPool(ConnectionFactory factory, int minSize, int maxSize,
+                 long idleTimeoutMillis, long borrowTimeoutMillis, int validationTimeoutSeconds,
+                 int statementCacheSize) {
+    if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+      throw new IllegalArgumentException(
+        "Invalid pool size: min=" + minSize + ", max=" + maxSize);
+    }
+    this.factory = factory;
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    this.borrowTimeoutMillis = borrowTimeoutMillis;
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+    this.statementCacheSize = statementCacheSize;
+    this.permits = new Semaphore(maxSize, true);
+    this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "connection-pool-maintenance");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Borrows a connection from the pool, opening a new one if no valid idle connection exists.
+   *
+   * @return A pooled connection that must be closed to return it to the pool.
+   * @throws SQLException If no connection became available within the borrow timeout,
+   *                      or if a new connection could not be opened.
+   */
+  PooledConnection borrow() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection pool is closed.");
+    }
+    startMaintenance();
+
+    try {
+      if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+          "Timed out after " + borrowTimeoutMillis + "ms waiting for a database connection.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection.", e);
+    }
+
+    try {
+      // Reuse the most recently returned connection that is still alive
+      PooledConnection pooled;
+      while ((pooled = idle.pollFirst()) != null) {
+        if (isValid(pooled)) {
+          return pooled;
+        }
+        discard(pooled);
+      }
+      return open();
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Hands a borrowed connection back to the pool. Broken connections are discarded.
+   *
+   * @param pooled The connection being returned.
+   */
+  void release(PooledConnection pooled) {
+    try {
+      if (closed || pooled.connection().isClosed()) {
+        discard(pooled);
+      } else {
+        pooled.touch();
+        idle.offerFirst(pooled);
+      }
+    } catch (SQLException e) {
+      discard(pooled);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * @return The number of physical connections currently open.
+   */
+  int size() {
+    return openConnections.get();
+  }
+
+  /**
+   * @return The number of open connections waiting to be borrowed.
+   */
+  int idleCount() {
+    return idle.size();
+  }
+
+  /**
+   * Closes every idle connection and stops the pool. Borrowed connections are closed
+   * as they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    maintenance.shutdownNow();
+    PooledConnection pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      discard(pooled);
+    }
+  }
+
+  /**
+   * Opens a new physical connection.
+   *
+   * @return The new pooled connection.
+   * @throws SQLException If the connection could not be opened.
+   */
+  private PooledConnection open() throws SQLException {
+    Connection connection = factory.create();
+    openConnections.incrementAndGet();
+    return new PooledConnection(this, connection, statementCacheSize);
+  }
+
+  /**
+   * Closes a connection and removes it from the pool's count.
+   *
+   * @param pooled The connection to discard.
+   */
+  private void discard(PooledConnection pooled) {
+    openConnections.decrementAndGet();
+    pooled.closePhysical();
+  }
+
+  /**
+   * Checks that an idle connection can still be used.
+   *
+   * @param pooled The connection to check.
+   * @return True if the connection is usable.
+   */
+  private boolean isValid(PooledConnection pooled) {
+    if (System.nanoTime() - pooled.lastUsedAt() < VALIDATION_SKIP_NANOS) {
+      return true;
+    }
+    try {
+      return pooled.connection().isValid(validationTimeoutSeconds);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Starts the background eviction task the first time the pool is used.
+   */
+  private void startMaintenance() {
+    if (maintenanceStarted) {
+      return;
+    }
+    synchronized (this) {
+      if (maintenanceStarted) {
+        return;
+      }
+      long periodNanos = Math.max(idleTimeoutNanos / 2, TimeUnit.SECONDS.toNanos(1));
+      maintenance.scheduleWithFixedDelay(
+        this::maintain, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+      maintenanceStarted = true;
+    }
+  }
+
+  /**
+   * Evicts connections that have been idle too long, then tops the pool back up to its minimum size.
+   */
+  private void maintain() {
+    long now = System.nanoTime();
+
+    // Oldest idle connections sit at the tail of the deque
+    List<PooledConnection> candidates = new ArrayList<>(idle);
+    for (int i = candidates.size() - 1; i >= 0 && openConnections.get() > minSize; i--) {
+      PooledConnection pooled = candidates.get(i);
+      if (now - pooled.lastUsedAt() > idleTimeoutNanos && idle.remove(pooled)) {
+        discard(pooled);
+      }
+    }
+
+    try {
+      while (!closed && openConnections.get() < minSize) {
+        idle.offerLast(open());
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+  }
+}
@@ -1,13 +1,14 @@
 package database;
 
-import records.Person;
-import records.Project;
+import records.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class manages the creation of records from the database.
@@ -30,27 +31,76 @@ public class Create {
     String projectName, String buildingType, String physicalAddress,
     String ERFNumber, BigDecimal totalFee, Date deadline, int CustomerID) {
 
+    Customer customer = Read.getCustomer(CustomerID);
+    if (customer == null) {
+      System.out.println("Failed to capture project. Customer " + CustomerID + " does not exist.");
+      return null;
+    }
+
+    return createNewProject(projectName, buildingType, physicalAddress, ERFNumber, totalFee, deadline, customer);
+  }
+
+  /**
+   * Creates a new project for an existing customer and inserts it into the database.
+   *
+   * The returned project is built from the values that were inserted, so capturing
+   * a project takes a single round trip to the database.
+   *
+   * @param projectName      The name of the project.
+   * @param buildingType     The type of building for the project.
+   * @param physicalAddress  The physical address of the project.
+   * @param ERFNumber        The ERF number of the project.
+   * @param totalFee         The total fee for the project.
+   * @param deadline         The deadline for project completion.
+   * @param customer         The customer associated with the project.
+   * @return                 The created Project object, or null if creation fails.
+   */
+  public static Project createNewProject(
+    String projectName, String buildingType, String physicalAddress,
+    String ERFNumber, BigDecimal totalFee, Date deadline, Customer customer) {
+
+    // Values the database would otherwise default, set here so the record matches the row
+    java.sql.Date startDate = java.sql.Date.valueOf(LocalDate.now());
+    java.sql.Date deadlineDate = (deadline == null) ? null : new java.sql.Date(deadline.getTime());
+    BigDecimal fee = totalFee.setScale(2, RoundingMode.HALF_UP);
+    BigDecimal amountPaidToDate = BigDecimal.ZERO.setScale(2);
+
     // SQL query to insert a new project
     String insertQuery = """
             INSERT INTO projects (
                 ProjectName, BuildingType, PhysicalAddress,
-                ERFNumber, TotalFee, Deadline, CustomerID
-            ) VALUES (?, ?, ?, ?, ?, ?, ?)
+                ERFNumber, TotalFee, StartDate, Deadline, CustomerID
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
     // Execute insert query
-    int result = DatabaseManager.executeUpdate(insertQuery,
-      projectName, buildingType, physicalAddress, ERFNumber, totalFee, deadline, CustomerID
+    int projectID = DatabaseManager.executeInsert(insertQuery,
+      projectName, buildingType, physicalAddress, ERFNumber, fee, startDate, deadlineDate, customer.id()
     );
 
-    if (result > 0) {
+    if (projectID > 0) {
       System.out.println("Project successfully captured.");
 
-      // Retrieve the last inserted project ID (ProjectNumber)
-      String selectQuery = "SELECT MAX(ProjectNumber) AS max_project_number FROM projects ";
-      List<Map<String, Object>> resultList = DatabaseManager.executeQuery(selectQuery);
-      int projectID = Integer.parseInt(resultList.getFirst().get("max_project_number").toString());
-      return Read.readProjects("AND", "ProjectNumber=" + projectID).getFirst();
+      Project project = new Project(
+        projectID,
+        projectName,
+        buildingType,
+        physicalAddress,
+        ERFNumber,
+        fee,
+        amountPaidToDate,
+        startDate,
+        deadlineDate,
+        false,
+        null,
+        null,
+        null,
+        null,
+        null,
+        customer
+      );
+      ProjectCache.put(project);
+      return project;
     }
 
     System.out.println("Failed to capture project.");
@@ -69,30 +119,15 @@ public class Create {
    */
   public static Person createNewPerson(
     String role, String name, String telephoneNumber, String emailAddress, String physicalAddress) {
-    String tableName;
-    String idName = switch (role.toLowerCase()) {
-      case "architect" -> {
-        tableName = "architects";
-        yield "ArchitectID";
-      }
-      case "contractor" -> {
-        tableName = "contractors";
-        yield "ContractorID";
-      }
-      case "customer" -> {
-        tableName = "customers";
-        yield "CustomerID";
-      }
-      case "engineer" -> {
-        tableName = "engineers";
-        yield "EngineerID";
-      }
-      case "manager" -> {
-        tableName = "managers";
-        yield "ManagerID";
-      }
+    Class<? extends Person> clazz = switch (role.toLowerCase()) {
+      case "architect" -> Architect.class;
+      case "contractor" -> Contractor.class;
+      case "customer" -> Customer.class;
+      case "engineer" -> Engineer.class;
+      case "manager" -> Manager.class;
       default -> throw new IllegalArgumentException("Invalid role: " + role);
     };
+    String tableName = clazz.getSimpleName().toLowerCase() + "s";
 
     // SQL query to insert a new customer
     String insertQuery =
@@ -101,36 +136,167 @@ public class Create {
       " (name, telephoneNumber, emailAddress, physicalAddress) VALUES (?, ?, ?, ?)";
 
     // Execute insert query
-    int result = DatabaseManager.executeUpdate(
+    int personID = DatabaseManager.executeInsert(
       insertQuery, name, telephoneNumber, emailAddress, physicalAddress
     );
 
-    if (result > 0) {
+    if (personID > 0) {
       System.out.println("Project successfully captured.");
 
-      // Retrieve the person that was added via their ID
-      String selectQuery = "SELECT MAX(" + idName + ") AS max_id FROM " + tableName;
-      List<Map<String, Object>> resultList = DatabaseManager.executeQuery(selectQuery);
+      // Every write to a role table invalidates the person cache
+      PersonCache.invalidate(clazz, personID);
+
+      // Build the person that was added from the inserted values
+      return Read.createPerson(clazz, personID, name, telephoneNumber, emailAddress, physicalAddress);
+    }
+
+    System.out.println("Failed to create new " + role);
+    return null;
+  }
+
+  /**
+   * Inserts many projects in one transaction using batched multi-row inserts.
+   *
+   * The project numbers of the given projects are ignored. Projects without a start date
+   * start today, and people are referenced by their ID. If any project fails to insert,
+   * none of them are inserted.
+   *
+   * @param projects The projects to insert. Every project must have a customer.
+   * @return         The inserted projects with their new project numbers, in the same order,
+   *                 or an empty list if the insert fails.
+   */
+  public static List<Project> createNewProjects(List<Project> projects) {
+    String insertQuery = """
+            INSERT INTO projects (
+                ProjectName, BuildingType, PhysicalAddress, ERFNumber, TotalFee, AmountPaidToDate,
+                StartDate, Deadline, Finalised, CompletionDate,
+                EngineerID, ManagerID, ArchitectID, ContractorID, CustomerID
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    java.sql.Date today = java.sql.Date.valueOf(LocalDate.now());
+    List<Project> rows = new ArrayList<>(projects.size());
+    List<Object[]> parameters = new ArrayList<>(projects.size());
+    for (Project project : projects) {
+      Project row = new Project(
+        0,
+        project.projectName(),
+        project.buildingType(),
+        project.physicalAddress(),
+        project.erfNumber(),
+        scale(project.totalFee()),
+        scale(project.amountPaidToDate()),
+        (project.startDate() == null) ? today : toSqlDate(project.startDate()),
+        toSqlDate(project.deadline()),
+        project.finalised(),
+        toSqlDate(project.completionDate()),
+        project.engineer(),
+        project.manager(),
+        project.architect(),
+        project.contractor(),
+        project.customer()
+      );
+      rows.add(row);
+      parameters.add(new Object[] {
+        row.projectName(), row.buildingType(), row.physicalAddress(), row.erfNumber(),
+        row.totalFee(), row.amountPaidToDate(), row.startDate(), row.deadline(),
+        row.finalised(), row.completionDate(),
+        idOf(row.engineer()), idOf(row.manager()), idOf(row.architect()), idOf(row.contractor()),
+        row.customer().id()
+      });
+    }
 
-      if (resultList.isEmpty()) {
-        System.out.println("Failed to retrieve new " + role + " ID.");
-        return null;
+    List<Integer> keys = DatabaseManager.inTransaction(
+      transaction -> transaction.executeBatchInsert(insertQuery, parameters));
+    if (keys == null) {
+      if (DatabaseManager.printsErrors()) {
+        System.out.println("Failed to capture projects.");
       }
+      return new ArrayList<>();
+    }
 
-      int personID = Integer.parseInt(resultList.getFirst().get("max_id").toString());
+    List<Project> created = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      Project row = rows.get(i);
+      created.add(new Project(
+        keys.get(i), row.projectName(), row.buildingType(), row.physicalAddress(), row.erfNumber(),
+        row.totalFee(), row.amountPaidToDate(), row.startDate(), row.deadline(), row.finalised(),
+        row.completionDate(), row.engineer(), row.manager(), row.architect(), row.contractor(), row.customer()
+      ));
+    }
+    return created;
+  }
+
+  /**
+   * Inserts many people of one role in one transaction using batched multi-row inserts.
+   *
+   * The IDs of the given people are ignored. If any person fails to insert, none of them are inserted.
+   *
+   * @param clazz   The class type of the people (e.g., Contractor.class).
+   * @param persons The people to insert.
+   * @param <T>     The type of person.
+   * @return        The inserted people with their new IDs, in the same order,
+   *                or an empty list if the insert fails.
+   */
+  public static <T extends Person> List<T> createNewPersons(Class<T> clazz, List<? extends T> persons) {
+    String tableName = clazz.getSimpleName().toLowerCase() + "s";
+    String insertQuery =
+      "INSERT INTO " +
+      tableName +
+      " (name, telephoneNumber, emailAddress, physicalAddress) VALUES (?, ?, ?, ?)";
 
-      return switch (role.toLowerCase()) {
-        case "architect" -> Read.getArchitect(personID);
-        case "contractor" -> Read.getContractor(personID);
-        case "customer" -> Read.getCustomer(personID);
-        case "engineer" -> Read.getEngineer(personID);
-        case "manager" -> Read.getManager(personID);
-        default -> throw new IllegalArgumentException("Invalid role: " + role);
-      };
+    List<Object[]> parameters = new ArrayList<>(persons.size());
+    for (T person : persons) {
+      parameters.add(new Object[] {
+        person.name(), person.telephoneNumber(), person.emailAddress(), person.physicalAddress()
+      });
     }
 
-    System.out.println("Failed to create new " + role);
-    return null;
+    List<Integer> keys = DatabaseManager.inTransaction(
+      transaction -> transaction.executeBatchInsert(insertQuery, parameters));
+    if (keys == null) {
+      if (DatabaseManager.printsErrors()) {
+        System.out.println("Failed to create new " + clazz.getSimpleName().toLowerCase() + "s");
+      }
+      return new ArrayList<>();
+    }
+
+    List<T> created = new ArrayList<>(persons.size());
+    for (int i = 0; i < persons.size(); i++) {
+      T person = persons.get(i);
+      int personID = keys.get(i);
+      PersonCache.invalidate(clazz, personID);
+      created.add(Read.createPerson(
+        clazz, personID, person.name(), person.telephoneNumber(), person.emailAddress(), person.physicalAddress()));
+    }
+    return created;
+  }
+
+  /**
+   * @param person A person, or null if no one is assigned.
+   * @return       The ID of the person, or null if no one is assigned.
+   */
+  private static Integer idOf(Person person) {
+    return (person == null) ? null : person.id();
   }
-}
 
+  /**
+   * @param amount An amount of money, or null for none.
+   * @return       The amount rounded to cents, or zero if no amount was given.
+   */
+  private static BigDecimal scale(BigDecimal amount) {
+    return (amount == null) ? BigDecimal.ZERO.setScale(2) : amount.setScale(2, RoundingMode.HALF_UP);
+  }
+
+  /**
+   * @param date A date, or null for none.
+   * @return     The date as a java.sql.Date, or null if no date was given.
+   */
+  private static java.sql.Date toSqlDate(Date date) {
+    return switch (date) {
+      case null -> null;
+      case java.sql.Date sqlDate -> sqlDate;
+      default -> new java.sql.Date(date.getTime());
+    };
+  }
+}
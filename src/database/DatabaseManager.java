@@ -3,31 +3,106 @@ package database;
 import java.sql.*;
 import java.sql.Date;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * This class manages all interactions with the database.
+ *
+ * Every statement is timed: how long borrowing a connection, executing and reading the rows took,
+ * together with its rows and errors. See {@link #statementStats()}.
  */
 public class DatabaseManager {
-  private final static String URL = "jdbc:mysql://localhost:3306/PoisePMS?useSSL=false";
-  private final static String USER = "otheruser";
-  private final static String PASSWORD = "swordfish";
+  // Connection details, overridable with -Dpoisepms.db.url (which must include a query string for MySQL),
+  // -Dpoisepms.db.user and -Dpoisepms.db.password
+  private final static String URL = System.getProperty("poisepms.db.url", "jdbc:mysql://localhost:3306/PoisePMS?useSSL=false");
+  private final static String USER = System.getProperty("poisepms.db.user", "otheruser");
+  private final static String PASSWORD = System.getProperty("poisepms.db.password", "swordfish");
+
+  // Connection pool settings, overridable with -Dpoisepms.pool.<setting>=<value>
+  private final static int POOL_MIN_SIZE = Integer.getInteger("poisepms.pool.minSize", 1);
+  private final static int POOL_MAX_SIZE = Integer.getInteger("poisepms.pool.maxSize", 10);
+  private final static long POOL_IDLE_TIMEOUT_MILLIS = Long.getLong("poisepms.pool.idleTimeoutMillis", 300_000L);
+  private final static long POOL_BORROW_TIMEOUT_MILLIS = Long.getLong("poisepms.pool.borrowTimeoutMillis", 5_000L);
+  private final static int POOL_VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("poisepms.pool.validationTimeoutSeconds", 2);
+
+  // Prepared statements kept open per pooled connection, overridable with -Dpoisepms.statementCache.size
+  private final static int STATEMENT_CACHE_SIZE = Integer.getInteger("poisepms.statementCache.size", 64);
+
+  // Prepare statements on the server instead of emulating them in the driver (-Dpoisepms.serverPrepStmts=true)
+  private final static boolean SERVER_PREPARED_STATEMENTS = Boolean.getBoolean("poisepms.serverPrepStmts");
+
+  // Rows fetched per round trip by streamQuery (-Dpoisepms.stream.fetchSize). Integer.MIN_VALUE makes
+  // Connector/J stream one row at a time, positive values use a server-side cursor of that many rows.
+  private final static int STREAM_FETCH_SIZE = Integer.getInteger("poisepms.stream.fetchSize", Integer.MIN_VALUE);
+
+  // Whether migrate() checks that the hot queries can use their indexes (-Dpoisepms.migrations.explain=false to skip)
+  private final static boolean EXPLAIN_AFTER_MIGRATING =
+    Boolean.parseBoolean(System.getProperty("poisepms.migrations.explain", "true"));
+
+  // Let Connector/J rewrite batched INSERTs into multi-row INSERTs (-Dpoisepms.rewriteBatchedStatements=false to disable)
+  private final static boolean REWRITE_BATCHED_STATEMENTS =
+    Boolean.parseBoolean(System.getProperty("poisepms.rewriteBatchedStatements", "true"));
+
+  // Rows sent per executeBatch call by batch inserts (-Dpoisepms.batch.size)
+  private final static int BATCH_SIZE = Math.max(1, Integer.getInteger("poisepms.batch.size", 1000));
+
+  // Async database calls running at once (-Dpoisepms.async.maxConcurrency), by default one per pooled connection
+  private final static int ASYNC_MAX_CONCURRENCY = Integer.getInteger("poisepms.async.maxConcurrency", POOL_MAX_SIZE);
+
+  private final static ConnectionPool POOL = new ConnectionPool(
+    DatabaseManager::openConnection,
+    POOL_MIN_SIZE,
+    POOL_MAX_SIZE,
+    POOL_IDLE_TIMEOUT_MILLIS,
+    POOL_BORROW_TIMEOUT_MILLIS,
+    POOL_VALIDATION_TIMEOUT_SECONDS,
+    STATEMENT_CACHE_SIZE
+  );
+
+  // Fingerprint under which the connection and total time of transactions are recorded
+  private final static String TRANSACTION_FINGERPRINT = "TRANSACTION";
+
+  private final static ExecutorService ASYNC_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+  private final static Semaphore ASYNC_PERMITS = new Semaphore(Math.max(1, ASYNC_MAX_CONCURRENCY), true);
+
+  // Set on threads running an async task, whose own async calls then run inline
+  private final static ThreadLocal<Boolean> IN_ASYNC_TASK = ThreadLocal.withInitial(() -> false);
+
+  // Set on threads running work whose failures the caller reports itself, see withoutErrorOutput
+  private final static ThreadLocal<Boolean> ERROR_OUTPUT_OFF = ThreadLocal.withInitial(() -> false);
 
   /**
-   * Establishes a connection to the MySQL database.
+   * Opens a new physical connection to the MySQL database for the connection pool.
    *
    * This method attempts to connect using predefined credentials (URL, user, and password).
    * If the connection fails due to invalid credentials, the program prints an error message
    * in red, advises the user to check their MySQL server and database, and then terminates the application.
    *
    * @return Connection The established MySQL database connection.
-   * @throws SQLException If a database access error occurs.
    */
-  private static Connection getConnection() {
-    Scanner scanner = new Scanner(System.in);
+  private static Connection openConnection() {
     Connection connection = null;
 
     try {
-      connection = DriverManager.getConnection(URL, USER, PASSWORD);
+      String url = URL;
+      // Connector/J options, which other databases (such as the embedded one of the benchmarks) do not understand
+      if (url.startsWith("jdbc:mysql:")) {
+        if (SERVER_PREPARED_STATEMENTS) {
+          url += "&useServerPrepStmts=true";
+        }
+        if (STREAM_FETCH_SIZE > 0) {
+          url += "&useCursorFetch=true";
+        }
+        if (REWRITE_BATCHED_STATEMENTS) {
+          url += "&rewriteBatchedStatements=true";
+        }
+      }
+      connection = DriverManager.getConnection(url, USER, PASSWORD);
     } catch (SQLException e) {
       System.out.println("\u001B[31m" + """
         Invalid credentials.
@@ -66,6 +141,85 @@ public class DatabaseManager {
     return connection;
   }
 
+  /**
+   * Borrows a connection from the connection pool.
+   *
+   * @return A pooled connection, which is returned to the pool when closed.
+   * @throws SQLException If no connection became available within the borrow timeout.
+   */
+  private static PooledConnection getConnection() throws SQLException {
+    return POOL.borrow();
+  }
+
+  /**
+   * Brings the database schema up to date. Called once when the program starts.
+   *
+   * Pending migrations are applied in version order and recorded in the schema_version table.
+   * Afterwards the hot queries are explained and a warning is printed for any that cannot
+   * use the index added for it. A failed migration is reported and the program carries on
+   * with the schema as it is.
+   */
+  public static void migrate() {
+    try (PooledConnection connection = getConnection()) {
+      SchemaMigrator.migrate(connection.connection());
+
+      if (EXPLAIN_AFTER_MIGRATING) {
+        for (String problem : SchemaMigrator.checkIndexes(connection.connection())) {
+          System.out.println("Warning: " + problem);
+        }
+      }
+    } catch (SQLException e) {
+      printError(e);
+    }
+  }
+
+  /**
+   * Escapes the LIKE wildcards in a piece of text so that it is matched literally.
+   *
+   * @param text The text to escape.
+   * @return     The escaped text, ready to be wrapped in wildcards and bound as a LIKE parameter.
+   */
+  public static String escapeLike(String text) {
+    return text
+      .replace("\\", "\\\\")
+      .replace("%", "\\%")
+      .replace("_", "\\_");
+  }
+
+  /**
+   * Returns the prepared statement cache counters of all pooled connections.
+   *
+   * @return A snapshot of the cache hits, misses and evictions.
+   */
+  public static StatementCacheStats statementCacheStats() {
+    return StatementCache.stats();
+  }
+
+  /**
+   * Returns the connection acquire, execute and row-mapping latencies, rows and errors of every
+   * statement run so far, grouped by fingerprint. The same metrics are published over JMX.
+   *
+   * @return A snapshot of the metrics, the statements that spent the most time executing first.
+   */
+  public static List<StatementStats> statementStats() {
+    return QueryMetrics.stats();
+  }
+
+  /**
+   * Clears the metrics of every statement.
+   */
+  public static void resetStatementStats() {
+    QueryMetrics.reset();
+  }
+
+  /**
+   * Closes all pooled connections. Called when the program exits.
+   */
+  public static void shutdown() {
+    ASYNC_EXECUTOR.shutdown();
+    POOL.close();
+  }
+
   /**
    * Executes a SQL query and returns a list of results.
    *
@@ -75,95 +229,471 @@ public class DatabaseManager {
    */
   public static List<Map<String, Object>> executeQuery(String query, Object... params) {
     List<Map<String, Object>> results = new ArrayList<>();
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
 
-    try (Connection connection = getConnection();
-         PreparedStatement statement = connection.prepareStatement(query)) {
-
-      // Set parameters dynamically
-      for (int i = 0; i < params.length; i++) {
-        switch (params[i]) {
-          case Integer integer -> statement.setInt(i + 1, integer);
-          case String string -> statement.setString(i + 1, string);
-          case Double decimal -> statement.setDouble(i + 1, decimal);
-          case Boolean bool -> statement.setBoolean(i + 1, bool);
-          case Date date -> statement.setDate(i + 1, date);
-          case null, default -> statement.setObject(i + 1, params[i]);  // Fallback for other types
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      PreparedStatement statement = connection.prepareStatement(query);  // Cached, not closed here
+      setParameters(statement, params);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        long executedAt = metrics.executed(acquiredAt);
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        while (resultSet.next()) {
+          results.add(readRow(resultSet, metaData, columnCount));
         }
+        metrics.mapped(executedAt, results.size());
       }
 
+    } catch (SQLException e) {
+      metrics.failed();
+      printError(e);
+    }
+
+    return results;
+  }
+
+  /**
+   * Executes a SQL query and passes each row to a consumer as it is read.
+   *
+   * Rows are read through a forward-only, read-only cursor with the configured fetch size,
+   * so memory use does not grow with the number of rows. The consumer runs while the cursor
+   * is open and should not hold on to rows it has finished with.
+   *
+   * @param query        The SQL query to execute.
+   * @param rowConsumer  The consumer that receives each row with column names as keys.
+   * @param params       The parameters to be set in the query.
+   * @return             The number of rows read, or -1 if an error occurs.
+   */
+  public static long streamQuery(String query, Consumer<Map<String, Object>> rowConsumer, Object... params) {
+    long rows = 0;
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      PreparedStatement statement = connection.prepareStatement(query);  // Cached, not closed here
+      setParameters(statement, params);
+      statement.setFetchSize(STREAM_FETCH_SIZE);
+
       try (ResultSet resultSet = statement.executeQuery()) {
+        long readAt = metrics.executed(acquiredAt);
         ResultSetMetaData metaData = resultSet.getMetaData();
         int columnCount = metaData.getColumnCount();
 
+        // Only fetching and reading rows is timed, not the consumer
+        long mappingNanos = 0;
         while (resultSet.next()) {
-          Map<String, Object> row = new HashMap<>();
-
-          // Dynamically process each column
-          for (int i = 1; i <= columnCount; i++) {
-            String columnName = metaData.getColumnName(i);
-            int columnType = metaData.getColumnType(i);
-
-            switch (columnType) {
-              case Types.INTEGER:
-                row.put(columnName, resultSet.getInt(i));
-                break;
-              case Types.VARCHAR:
-              case Types.CHAR:
-                row.put(columnName, resultSet.getString(i));
-                break;
-              case Types.DECIMAL:
-              case Types.NUMERIC:
-                row.put(columnName, resultSet.getBigDecimal(i));
-                break;
-              case Types.DOUBLE:
-              case Types.FLOAT:
-                row.put(columnName, resultSet.getDouble(i));
-                break;
-              case Types.BOOLEAN:
-                row.put(columnName, resultSet.getBoolean(i));
-                break;
-              case Types.DATE:
-                row.put(columnName, resultSet.getDate(i));
-                break;
-              case Types.TIMESTAMP:
-                row.put(columnName, resultSet.getTimestamp(i));
-                break;
-              default:
-                row.put(columnName, resultSet.getObject(i));  // Handle other types
-            }
-          }
-
-          results.add(row);
+          Map<String, Object> row = readRow(resultSet, metaData, columnCount);
+          mappingNanos += System.nanoTime() - readAt;
+          rowConsumer.accept(row);
+          rows++;
+          readAt = System.nanoTime();
         }
+        metrics.streamed(mappingNanos + System.nanoTime() - readAt, rows);
+      } finally {
+        statement.setFetchSize(0);  // Cached statements go back to fully buffered reads
       }
 
     } catch (SQLException e) {
-      e.printStackTrace();
+      metrics.failed();
+      printError(e);
+      return -1;
+    }
+
+    return rows;
+  }
+
+  /**
+   * Executes a SQL query and maps each row to an object.
+   *
+   * @param query   The SQL query to execute.
+   * @param mapper  Creates the row mapper once the result set is available.
+   * @param params  The parameters to be set in the query.
+   * @param <T>     The type of object each row is mapped to.
+   * @return        A list of mapped rows, empty if an error occurs.
+   */
+  public static <T> List<T> query(String query, RowMapper.Factory<T> mapper, Object... params) {
+    List<T> results = tryQuery(query, mapper, params);
+    return (results == null) ? new ArrayList<>() : results;
+  }
+
+  /**
+   * Executes a SQL query and maps each row to an object, telling a failure apart from an empty result.
+   * Used by the query cache, which must not keep the result of a failed query.
+   *
+   * @param query   The SQL query to execute.
+   * @param mapper  Creates the row mapper once the result set is available.
+   * @param params  The parameters to be set in the query.
+   * @param <T>     The type of object each row is mapped to.
+   * @return        A list of mapped rows, or null if an error occurs.
+   */
+  static <T> List<T> tryQuery(String query, RowMapper.Factory<T> mapper, Object... params) {
+    List<T> results = new ArrayList<>();
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      PreparedStatement statement = connection.prepareStatement(query);  // Cached, not closed here
+      setParameters(statement, params);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        long executedAt = metrics.executed(acquiredAt);
+        RowMapper<T> rowMapper = mapper.create(resultSet);
+        while (resultSet.next()) {
+          results.add(rowMapper.mapRow(resultSet));
+        }
+        metrics.mapped(executedAt, results.size());
+      }
+
+    } catch (SQLException e) {
+      metrics.failed();
+      printError(e);
+      return null;
     }
 
     return results;
   }
 
+  /**
+   * Executes a SQL query and passes each row, mapped to an object, to a consumer as it is read.
+   *
+   * Rows are read through a forward-only, read-only cursor with the configured fetch size,
+   * so memory use does not grow with the number of rows.
+   *
+   * @param query     The SQL query to execute.
+   * @param mapper    Creates the row mapper once the result set is available.
+   * @param consumer  The consumer that receives each mapped row.
+   * @param params    The parameters to be set in the query.
+   * @param <T>       The type of object each row is mapped to.
+   * @return          The number of rows read, or -1 if an error occurs.
+   */
+  public static <T> long stream(String query, RowMapper.Factory<T> mapper, Consumer<T> consumer, Object... params) {
+    long rows = 0;
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      PreparedStatement statement = connection.prepareStatement(query);  // Cached, not closed here
+      setParameters(statement, params);
+      statement.setFetchSize(STREAM_FETCH_SIZE);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        long readAt = metrics.executed(acquiredAt);
+        RowMapper<T> rowMapper = mapper.create(resultSet);
+
+        // Only fetching and mapping rows is timed, not the consumer
+        long mappingNanos = 0;
+        while (resultSet.next()) {
+          T row = rowMapper.mapRow(resultSet);
+          mappingNanos += System.nanoTime() - readAt;
+          consumer.accept(row);
+          rows++;
+          readAt = System.nanoTime();
+        }
+        metrics.streamed(mappingNanos + System.nanoTime() - readAt, rows);
+      } finally {
+        statement.setFetchSize(0);  // Cached statements go back to fully buffered reads
+      }
+
+    } catch (SQLException e) {
+      metrics.failed();
+      printError(e);
+      return -1;
+    }
+
+    return rows;
+  }
+
+  /**
+   * Runs several statements on one connection as a single transaction.
+   *
+   * The work is committed when it returns and rolled back if it throws, in which case
+   * the error is printed and null is returned. The connection goes back to the pool with
+   * auto-commit turned back on.
+   *
+   * @param work The statements to run, issued through the given {@link Transaction}.
+   * @param <T>  The type of the result of the work.
+   * @return     The result of the work, or null if the transaction was rolled back.
+   */
+  public static <T> T inTransaction(Transaction.Work<T> work) {
+    // The statements of the transaction record their own metrics, the transaction records the total
+    StatementMetrics metrics = QueryMetrics.of(TRANSACTION_FINGERPRINT);
+    long startedAt = metrics.started();
+
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      Transaction transaction = new Transaction(connection);
+      connection.connection().setAutoCommit(false);
+      try {
+        T result = work.run(transaction);
+        connection.connection().commit();
+        metrics.executed(acquiredAt);
+        return result;
+      } catch (SQLException | RuntimeException e) {
+        connection.connection().rollback();
+        throw e;
+      } finally {
+        connection.connection().setAutoCommit(true);
+        transaction.invalidateCachedReads();
+      }
+    } catch (SQLException | RuntimeException e) {
+      metrics.failed();
+      if (e instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      printError(e);
+      return null;
+    }
+  }
+
+  /**
+   * Runs a task without printing the errors of the database calls it makes, for callers that
+   * expect some calls to fail, retry them, and report the failures themselves. Failures are still
+   * returned as usual and counted in the statement metrics.
+   *
+   * @param task The task.
+   * @param <T>  The type of the result of the task.
+   * @return     The result of the task.
+   */
+  public static <T> T withoutErrorOutput(Supplier<T> task) {
+    if (ERROR_OUTPUT_OFF.get()) {
+      return task.get();
+    }
+    ERROR_OUTPUT_OFF.set(true);
+    try {
+      return task.get();
+    } finally {
+      ERROR_OUTPUT_OFF.remove();
+    }
+  }
+
+  /**
+   * @return False while the current thread runs a task given to {@link #withoutErrorOutput}.
+   */
+  static boolean printsErrors() {
+    return !ERROR_OUTPUT_OFF.get();
+  }
+
+  /**
+   * Prints the stack trace of a database error, unless error output is turned off on this thread.
+   *
+   * @param e The error.
+   */
+  private static void printError(Exception e) {
+    if (printsErrors()) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * @return The number of rows sent per executeBatch call by batch inserts.
+   */
+  static int batchSize() {
+    return BATCH_SIZE;
+  }
+
+  /**
+   * Runs a database task on a virtual thread.
+   *
+   * At most the configured number of tasks run at once, the rest wait for a permit on their
+   * own virtual thread. Async calls made from inside a task run inline on the task's thread,
+   * so a task that waits on its own async calls cannot starve the permits it is holding.
+   *
+   * @param task The task to run, typically one or more calls to the synchronous methods of this class.
+   * @param <T>  The type of the task's result.
+   * @return     A future completed with the task's result, or exceptionally if the task throws.
+   */
+  public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+    if (IN_ASYNC_TASK.get()) {
+      try {
+        return CompletableFuture.completedFuture(task.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    return CompletableFuture.supplyAsync(() -> {
+      ASYNC_PERMITS.acquireUninterruptibly();
+      IN_ASYNC_TASK.set(true);
+      try {
+        return task.get();
+      } finally {
+        IN_ASYNC_TASK.remove();
+        ASYNC_PERMITS.release();
+      }
+    }, ASYNC_EXECUTOR);
+  }
+
+  /**
+   * Executes a SQL query on a virtual thread, as {@link #executeQuery(String, Object...)} does.
+   *
+   * @param query   The SQL query to execute.
+   * @param params  The parameters to be set in the query.
+   * @return        A future completed with the rows, each a map with column names as keys.
+   */
+  public static CompletableFuture<List<Map<String, Object>>> executeQueryAsync(String query, Object... params) {
+    return supplyAsync(() -> executeQuery(query, params));
+  }
+
+  /**
+   * Executes a SQL query on a virtual thread and maps each row to an object,
+   * as {@link #query(String, RowMapper.Factory, Object...)} does.
+   *
+   * @param query   The SQL query to execute.
+   * @param mapper  Creates the row mapper once the result set is available.
+   * @param params  The parameters to be set in the query.
+   * @param <T>     The type of object each row is mapped to.
+   * @return        A future completed with the mapped rows.
+   */
+  public static <T> CompletableFuture<List<T>> queryAsync(String query, RowMapper.Factory<T> mapper, Object... params) {
+    return supplyAsync(() -> query(query, mapper, params));
+  }
+
+  /**
+   * Executes a SQL update on a virtual thread, as {@link #executeUpdate(String, Object...)} does.
+   *
+   * @param query       The SQL query to execute.
+   * @param parameters  The parameters to be set in the query.
+   * @return            A future completed with the number of affected rows, or -1 if an error occurs.
+   */
+  public static CompletableFuture<Integer> executeUpdateAsync(String query, Object... parameters) {
+    return supplyAsync(() -> executeUpdate(query, parameters));
+  }
+
+  /**
+   * Sets the parameters of a prepared statement according to their types.
+   *
+   * @param statement The statement to set the parameters on.
+   * @param params    The parameters to be set.
+   * @throws SQLException If a parameter could not be set.
+   */
+  static void setParameters(PreparedStatement statement, Object... params) throws SQLException {
+    for (int i = 0; i < params.length; i++) {
+      switch (params[i]) {
+        case Integer integer -> statement.setInt(i + 1, integer);
+        case String string -> statement.setString(i + 1, string);
+        case Double decimal -> statement.setDouble(i + 1, decimal);
+        case Boolean bool -> statement.setBoolean(i + 1, bool);
+        case Date date -> statement.setDate(i + 1, date);
+        case null, default -> statement.setObject(i + 1, params[i]);  // Fallback for other types
+      }
+    }
+  }
+
+  /**
+   * Reads the current row of a result set into a map.
+   *
+   * @param resultSet   The result set, positioned on a row.
+   * @param metaData    The metadata of the result set.
+   * @param columnCount The number of columns in the result set.
+   * @return            The row with column labels as keys. SQL NULLs are stored as null.
+   * @throws SQLException If a column could not be read.
+   */
+  private static Map<String, Object> readRow(
+    ResultSet resultSet, ResultSetMetaData metaData, int columnCount) throws SQLException {
+
+    Map<String, Object> row = new HashMap<>();
+
+    // Dynamically process each column
+    for (int i = 1; i <= columnCount; i++) {
+      String columnName = metaData.getColumnLabel(i);  // Honours "AS" aliases
+      int columnType = metaData.getColumnType(i);
+
+      Object value = switch (columnType) {
+        case Types.INTEGER -> resultSet.getInt(i);
+        case Types.VARCHAR, Types.CHAR -> resultSet.getString(i);
+        case Types.DECIMAL, Types.NUMERIC -> resultSet.getBigDecimal(i);
+        case Types.DOUBLE, Types.FLOAT -> resultSet.getDouble(i);
+        case Types.BOOLEAN -> resultSet.getBoolean(i);
+        case Types.DATE -> resultSet.getDate(i);
+        case Types.TIMESTAMP -> resultSet.getTimestamp(i);
+        default -> resultSet.getObject(i);  // Handle other types
+      };
+
+      // Primitive getters return 0 or false for NULL columns
+      row.put(columnName, resultSet.wasNull() ? null : value);
+    }
+
+    return row;
+  }
+
   /**
    * Executes a SQL update (INSERT, UPDATE, DELETE) and returns the number of affected rows.
+   * Cached query results that read the updated table are invalidated.
    *
    * @param query       The SQL query to execute.
    * @param parameters  The parameters to be set in the query.
    * @return            The number of affected rows, or -1 if an error occurs.
    */
   public static int executeUpdate(String query, Object... parameters) {
-    try (Connection connection = getConnection();
-         PreparedStatement statement = connection.prepareStatement(query)) {
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      PreparedStatement statement = connection.prepareStatement(query);  // Cached, not closed here
 
       for (int i = 0; i < parameters.length; i++) {
         statement.setObject(i + 1, parameters[i]);
       }
 
-      return statement.executeUpdate();
+      int affected = statement.executeUpdate();
+      metrics.executed(acquiredAt);
+      metrics.affected(affected);
+      return affected;
 
     } catch (SQLException e) {
-      e.printStackTrace();
+      metrics.failed();
+      printError(e);
+      return -1;
+    } finally {
+      QueryCache.invalidateWritesOf(query);
+    }
+  }
+
+  /**
+   * Executes a SQL INSERT and returns the key generated for the new row.
+   * Cached query results that read the table are invalidated.
+   *
+   * @param query       The SQL INSERT to execute.
+   * @param parameters  The parameters to be set in the query.
+   * @return            The generated key of the inserted row, or -1 if nothing was inserted or an error occurs.
+   */
+  public static int executeInsert(String query, Object... parameters) {
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+
+    try (PooledConnection connection = getConnection()) {
+      long acquiredAt = metrics.acquired(startedAt);
+      PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+
+      for (int i = 0; i < parameters.length; i++) {
+        statement.setObject(i + 1, parameters[i]);
+      }
+
+      int affected = statement.executeUpdate();
+      metrics.executed(acquiredAt);
+      metrics.affected(affected);
+      if (affected == 0) {
+        return -1;
+      }
+
+      try (ResultSet keys = statement.getGeneratedKeys()) {
+        return keys.next() ? keys.getInt(1) : -1;
+      }
+
+    } catch (SQLException e) {
+      metrics.failed();
+      printError(e);
       return -1;
+    } finally {
+      QueryCache.invalidateWritesOf(query);
     }
   }
 }
@@ -0,0 +1,19 @@
+package database;
+
+/**
+ * Totals across every statement and the cache hit rates, as shown in JMX consoles under poisepms:type=Database.
+ */
+public interface DatabaseMetricsMXBean {
+  int getStatementCount();
+  long getCalls();
+  long getErrors();
+  long getRows();
+  double getStatementCacheHitRate();
+  double getQueryCacheHitRate();
+  double getProjectCacheHitRate();
+
+  /**
+   * Clears the metrics of every statement.
+   */
+  void reset();
+}
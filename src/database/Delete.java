@@ -15,6 +15,7 @@ public class Delete {
   public static void deleteProject(Project project) {
     String query = "DELETE FROM projects WHERE ProjectNumber = ?";
     DatabaseManager.executeUpdate(query, project.projectNumber());
+    ProjectCache.invalidate(project.projectNumber());
     System.out.println("'" + project.projectName() + "' deleted successfully.");
   }
 
@@ -27,6 +28,8 @@ public class Delete {
     String idName = person.getClass().getSimpleName() + "ID";
     String query = "DELETE FROM " + table + " WHERE " + idName + " = ?";
     DatabaseManager.executeUpdate(query, person.id());
+    PersonCache.invalidate(person.getClass(), person.id());
+    ProjectCache.invalidateAll();  // Their projects were unassigned or, for customers, deleted
     System.out.println("'" + person.name() + "' deleted successfully.");
   }
 }
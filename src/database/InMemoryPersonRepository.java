@@ -0,0 +1,142 @@
+package database;
+
+import records.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps people in memory, one hash table per role keyed by ID.
+ *
+ * Lookups read the tables without locking, while inserts and deletes are serialised.
+ * Nothing is kept once the program exits.
+ */
+public class InMemoryPersonRepository implements PersonRepository {
+  private static final List<Class<? extends Person>> ROLES =
+    List.of(Engineer.class, Manager.class, Architect.class, Contractor.class, Customer.class);
+
+  private final Map<Class<? extends Person>, Map<Integer, Person>> tables = new ConcurrentHashMap<>();
+  private final Map<Class<? extends Person>, AtomicInteger> lastIds = new ConcurrentHashMap<>();
+
+  // Called with the role and ID of each deleted person, so projects can be unassigned from them
+  private final List<BiConsumer<Class<? extends Person>, Integer>> deleteListeners = new ArrayList<>();
+
+  public InMemoryPersonRepository() {
+    for (Class<? extends Person> role : ROLES) {
+      tables.put(role, new ConcurrentHashMap<>());
+      lastIds.put(role, new AtomicInteger());
+    }
+  }
+
+  @Override
+  public <T extends Person> T findById(Class<T> clazz, int id) {
+    return clazz.cast(table(clazz).get(id));
+  }
+
+  @Override
+  public <T extends Person> Map<Integer, T> findByIds(Class<T> clazz, Collection<Integer> ids) {
+    Map<Integer, T> persons = new LinkedHashMap<>();
+    for (Integer id : ids) {
+      if (id != null) {
+        T person = findById(clazz, id);
+        if (person != null) {
+          persons.put(id, person);
+        }
+      }
+    }
+    return persons;
+  }
+
+  @Override
+  public List<? extends Person> findByName(Class<? extends Person> clazz, String name, boolean prefixOnly, int limit) {
+    String text = name.toLowerCase();
+    return table(clazz).values().stream()
+      .filter(person -> person.name() != null)
+      .filter(person -> prefixOnly
+        ? person.name().toLowerCase().startsWith(text)
+        : person.name().toLowerCase().contains(text))
+      .sorted(Comparator.comparing(Person::name).thenComparingInt(Person::id))
+      .limit(limit)
+      .toList();
+  }
+
+  @Override
+  public List<? extends Person> findAll(Class<? extends Person> clazz, List<Integer> excludedPersonIDs) {
+    Set<Integer> excluded = new HashSet<>(excludedPersonIDs);
+    return table(clazz).values().stream()
+      .filter(person -> !excluded.contains(person.id()))
+      .sorted(Comparator.comparingInt(Person::id))
+      .toList();
+  }
+
+  @Override
+  public Person create(String role, String name, String telephoneNumber, String emailAddress, String physicalAddress) {
+    Class<? extends Person> clazz = ROLES.stream()
+      .filter(r -> r.getSimpleName().equalsIgnoreCase(role))
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("Invalid role: " + role));
+    return insert(clazz, name, telephoneNumber, emailAddress, physicalAddress);
+  }
+
+  @Override
+  public synchronized <T extends Person> List<T> createAll(Class<T> clazz, List<? extends T> persons) {
+    List<T> created = new ArrayList<>(persons.size());
+    for (T person : persons) {
+      created.add(insert(clazz, person.name(), person.telephoneNumber(), person.emailAddress(), person.physicalAddress()));
+    }
+    return created;
+  }
+
+  @Override
+  public synchronized void delete(Person person) {
+    if (table(person.getClass()).remove(person.id()) != null) {
+      deleteListeners.forEach(listener -> listener.accept(person.getClass(), person.id()));
+    }
+    System.out.println("'" + person.name() + "' deleted successfully.");
+  }
+
+  /**
+   * Registers an action to run after each person is deleted.
+   *
+   * @param listener The action, given the role and ID of the deleted person.
+   */
+  synchronized void onDelete(BiConsumer<Class<? extends Person>, Integer> listener) {
+    deleteListeners.add(listener);
+  }
+
+  /**
+   * Inserts a person with the next ID of their role.
+   *
+   * @return The inserted person.
+   */
+  private synchronized <T extends Person> T insert(
+    Class<T> clazz, String name, String telephoneNumber, String emailAddress, String physicalAddress) {
+
+    int id = lastIds.get(clazz).incrementAndGet();
+    T person = Read.createPerson(clazz, id, name, telephoneNumber, emailAddress, physicalAddress);
+    table(clazz).put(id, person);
+    return person;
+  }
+
+  /**
+   * @param clazz The class type of a role.
+   * @return      The table of the role.
+   * @throws IllegalArgumentException If the class is not a role.
+   */
+  private Map<Integer, Person> table(Class<? extends Person> clazz) {
+    Map<Integer, Person> table = tables.get(clazz);
+    if (table == null) {
+      throw new IllegalArgumentException("Invalid role: " + clazz.getName());
+    }
+    return table;
+  }
+}
@@ -0,0 +1,542 @@
+package database;
+
+import records.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps projects in memory, as a stand-in for the database in offline benchmarks and tests.
+ *
+ * Projects are held in a hash table keyed by project number, with secondary indexes on
+ * Finalised, Deadline and the ID of each role. A search looks up the smallest index bucket its
+ * conditions allow, then tests each project in it against the full criteria, so indexes only
+ * ever narrow the search. Projections are ignored: every field is always returned.
+ *
+ * People are kept as ID references and filled in from the {@link InMemoryPersonRepository} when
+ * a project is read. Deleting a person unassigns them from their projects, or deletes the
+ * projects of a customer, as the foreign keys of the database do.
+ *
+ * Reads do not lock. Writes are serialised, and a reader may briefly see an index that is
+ * ahead of or behind the table, which the criteria test on every project hides. An edited
+ * project is replaced in the table in one step, so readers see either the old or the new
+ * version and never find it missing.
+ */
+public class InMemoryProjectRepository implements ProjectRepository {
+  // Role ID columns and the role in the project they refer to
+  private static final Map<String, Function<Project, Person>> ROLE_COLUMNS = new LinkedHashMap<>();
+  static {
+    ROLE_COLUMNS.put("EngineerID", Project::engineer);
+    ROLE_COLUMNS.put("ManagerID", Project::manager);
+    ROLE_COLUMNS.put("ArchitectID", Project::architect);
+    ROLE_COLUMNS.put("ContractorID", Project::contractor);
+    ROLE_COLUMNS.put("CustomerID", Project::customer);
+  }
+
+  // Key of unassigned roles in the role indexes, as IDs start at 1
+  private static final int UNASSIGNED = 0;
+
+  private final InMemoryPersonRepository persons;
+
+  private final Map<Integer, Project> projects = new ConcurrentHashMap<>();
+  private final NavigableSet<Integer> projectNumbers = new ConcurrentSkipListSet<>();
+  private final Map<Boolean, Bucket> byFinalised = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<LocalDate, Bucket> byDeadline = new ConcurrentSkipListMap<>();
+  private final Map<String, Map<Integer, Bucket>> byRole = new ConcurrentHashMap<>();
+  private int lastProjectNumber;
+
+  /**
+   * The project numbers under one key of an index, in ascending order, with their count.
+   * Skip list sets count their elements one by one, so the count is kept alongside.
+   */
+  private static class Bucket {
+    private final NavigableSet<Integer> projectNumbers = new ConcurrentSkipListSet<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    void add(int projectNumber) {
+      if (projectNumbers.add(projectNumber)) {
+        size.incrementAndGet();
+      }
+    }
+
+    void remove(int projectNumber) {
+      if (projectNumbers.remove(projectNumber)) {
+        size.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * @param persons The people the projects refer to.
+   */
+  public InMemoryProjectRepository(InMemoryPersonRepository persons) {
+    this.persons = persons;
+    ROLE_COLUMNS.keySet().forEach(column -> byRole.put(column, new ConcurrentHashMap<>()));
+    persons.onDelete(this::removePerson);
+  }
+
+  @Override
+  public Project findByNumber(int projectNumber) {
+    return resolve(projects.get(projectNumber));
+  }
+
+  @Override
+  public List<Project> find(ProjectCriteria criteria, String... fields) {
+    List<Project> matches = new ArrayList<>();
+    stream(criteria, matches::add);
+    return matches;
+  }
+
+  @Override
+  public ProjectPage findAfter(ProjectCriteria criteria, int projectNumber, int pageSize, String... fields) {
+    List<Project> projects = page(candidates(criteria).tailSet(projectNumber, false).iterator(), criteria, pageSize);
+    boolean hasNext = projects.size() > pageSize;
+    if (hasNext) {
+      projects = projects.subList(0, pageSize);
+    }
+    return new ProjectPage(projects, projectNumber > 0, hasNext);
+  }
+
+  @Override
+  public ProjectPage findBefore(ProjectCriteria criteria, int projectNumber, int pageSize, String... fields) {
+    List<Project> projects =
+      page(candidates(criteria).headSet(projectNumber, false).descendingIterator(), criteria, pageSize);
+    boolean hasPrevious = projects.size() > pageSize;
+    if (hasPrevious) {
+      projects = projects.subList(0, pageSize);
+    }
+    return new ProjectPage(projects.reversed(), hasPrevious, true);
+  }
+
+  @Override
+  public long stream(ProjectCriteria criteria, Consumer<Project> action, String... fields) {
+    long count = 0;
+    for (Integer projectNumber : candidates(criteria)) {
+      Project project = projects.get(projectNumber);
+      if (project != null && criteria.matches(project)) {
+        action.accept(resolve(project));
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public int count(ProjectCriteria criteria) {
+    int count = 0;
+    for (Integer projectNumber : candidates(criteria)) {
+      Project project = projects.get(projectNumber);
+      if (project != null && criteria.matches(project)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public Project create(String projectName, String buildingType, String physicalAddress,
+                        String erfNumber, BigDecimal totalFee, Date deadline, Customer customer) {
+    List<Project> created = createAll(List.of(new Project(
+      0, projectName, buildingType, physicalAddress, erfNumber, totalFee, null, null, deadline,
+      false, null, null, null, null, null, customer
+    )));
+    if (created.isEmpty()) {
+      return null;
+    }
+    System.out.println("Project successfully captured.");
+    return created.getFirst();
+  }
+
+  @Override
+  public synchronized List<Project> createAll(List<Project> projects) {
+    // Check every project first, so that none are inserted if one is invalid
+    for (Project project : projects) {
+      if (project.customer() == null || !assignable(project)) {
+        if (DatabaseManager.printsErrors()) {
+          System.out.println("Failed to capture projects.");
+        }
+        return new ArrayList<>();
+      }
+    }
+
+    java.sql.Date today = java.sql.Date.valueOf(LocalDate.now());
+    List<Project> created = new ArrayList<>(projects.size());
+    for (Project project : projects) {
+      Project row = new Project(
+        ++lastProjectNumber,
+        project.projectName(),
+        project.buildingType(),
+        project.physicalAddress(),
+        project.erfNumber(),
+        scale(project.totalFee()),
+        scale(project.amountPaidToDate()),
+        (project.startDate() == null) ? today : project.startDate(),
+        project.deadline(),
+        project.finalised(),
+        project.completionDate(),
+        project.engineer(),
+        project.manager(),
+        project.architect(),
+        project.contractor(),
+        project.customer()
+      );
+      put(row);
+      created.add(row);
+    }
+    return created;
+  }
+
+  @Override
+  public synchronized int update(ProjectChanges changes) {
+    if (changes.isEmpty()) {
+      return 0;
+    }
+
+    Project stored = projects.get(changes.projectNumber());
+    if (stored == null) {
+      changes.clear();
+      return 0;
+    }
+
+    Project project = stored;
+    try {
+      for (Map.Entry<String, Object> field : changes.fields().entrySet()) {
+        project = withField(project, field.getKey(), field.getValue());
+      }
+      if (!assignable(project)) {
+        throw new IllegalArgumentException("A person assigned to project " + project.projectNumber() + " does not exist.");
+      }
+    } catch (RuntimeException e) {
+      e.printStackTrace();
+      return -1;
+    }
+
+    replace(stored, project);
+    changes.clear();
+    return 1;
+  }
+
+  @Override
+  public synchronized void delete(Project project) {
+    remove(project.projectNumber());
+    System.out.println("'" + project.projectName() + "' deleted successfully.");
+  }
+
+  /**
+   * Finds the smallest set of project numbers that can hold every match of the criteria.
+   *
+   * @param criteria The criteria to filter the projects.
+   * @return         The project numbers to test, in ascending order.
+   */
+  private NavigableSet<Integer> candidates(ProjectCriteria criteria) {
+    Map<String, Object> equalities = criteria.indexedEqualities();
+    if (equalities.containsKey("ProjectNumber")) {
+      Integer projectNumber = (Integer) equalities.get("ProjectNumber");
+      return projectNumbers.subSet(projectNumber, true, projectNumber, true);
+    }
+
+    NavigableSet<Integer> candidates = projectNumbers;
+    int size = projects.size();
+    for (Map.Entry<String, Object> equality : equalities.entrySet()) {
+      Bucket bucket = switch (equality.getKey()) {
+        case "Finalised" -> byFinalised.get((Boolean) equality.getValue());
+        default -> byRole.get(equality.getKey()).get(Objects.requireNonNullElse((Integer) equality.getValue(), UNASSIGNED));
+      };
+      if (bucket == null) {
+        return new TreeSet<>();
+      }
+      if (bucket.size.get() < size) {
+        candidates = bucket.projectNumbers;
+        size = bucket.size.get();
+      }
+    }
+
+    if (criteria.requiresPastDeadline()) {
+      Collection<Bucket> overdue = byDeadline.headMap(LocalDate.now()).values();
+      if (overdue.stream().mapToInt(bucket -> bucket.size.get()).sum() < size) {
+        NavigableSet<Integer> union = new TreeSet<>();
+        overdue.forEach(bucket -> union.addAll(bucket.projectNumbers));
+        candidates = union;
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Collects one more matching project than fits on a page, walking the project numbers in order.
+   *
+   * @return Up to pageSize + 1 projects, ordered in the direction of the walk.
+   */
+  private List<Project> page(Iterator<Integer> projectNumbers, ProjectCriteria criteria, int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+    }
+
+    List<Project> page = new ArrayList<>(pageSize + 1);
+    while (projectNumbers.hasNext() && page.size() <= pageSize) {
+      Project project = projects.get(projectNumbers.next());
+      if (project != null && criteria.matches(project)) {
+        page.add(resolve(project));
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Unassigns a deleted person from their projects, or deletes the projects of a deleted customer.
+   *
+   * @param role The class type of the deleted person.
+   * @param id   The ID of the deleted person.
+   */
+  private synchronized void removePerson(Class<? extends Person> role, int id) {
+    String column = role.getSimpleName() + "ID";
+    Bucket assigned = byRole.get(column).get(id);
+    if (assigned == null) {
+      return;
+    }
+
+    for (Integer projectNumber : new ArrayList<>(assigned.projectNumbers)) {
+      Project project = projects.get(projectNumber);
+      if (project == null) {
+        continue;
+      }
+      if (role == Customer.class) {
+        remove(projectNumber);
+      } else {
+        replace(project, withField(project, column, null));
+      }
+    }
+  }
+
+  /**
+   * Adds a project to the table and its indexes.
+   */
+  private void put(Project project) {
+    int projectNumber = project.projectNumber();
+    projects.put(projectNumber, project);
+    projectNumbers.add(projectNumber);
+    bucket(byFinalised, project.finalised()).add(projectNumber);
+    if (project.deadline() != null) {
+      bucket(byDeadline, toLocalDate(project.deadline())).add(projectNumber);
+    }
+    ROLE_COLUMNS.forEach((column, role) -> bucket(byRole.get(column), idOf(role.apply(project))).add(projectNumber));
+  }
+
+  /**
+   * Replaces a stored project with an edited copy of it.
+   *
+   * The new index entries are added before the table is updated and the stale ones are removed
+   * after, so a lock-free reader always finds the project under either its old or its new values.
+   *
+   * @param stored The project as it is stored.
+   * @param edited The edited copy, with the same project number.
+   */
+  private void replace(Project stored, Project edited) {
+    int projectNumber = edited.projectNumber();
+    bucket(byFinalised, edited.finalised()).add(projectNumber);
+    if (edited.deadline() != null) {
+      bucket(byDeadline, toLocalDate(edited.deadline())).add(projectNumber);
+    }
+    ROLE_COLUMNS.forEach((column, role) -> bucket(byRole.get(column), idOf(role.apply(edited))).add(projectNumber));
+
+    projects.put(projectNumber, edited);
+
+    if (stored.finalised() != edited.finalised()) {
+      byFinalised.get(stored.finalised()).remove(projectNumber);
+    }
+    if (stored.deadline() != null
+      && (edited.deadline() == null || !toLocalDate(stored.deadline()).equals(toLocalDate(edited.deadline())))) {
+      byDeadline.get(toLocalDate(stored.deadline())).remove(projectNumber);
+    }
+    ROLE_COLUMNS.forEach((column, role) -> {
+      int storedID = idOf(role.apply(stored));
+      if (storedID != idOf(role.apply(edited))) {
+        byRole.get(column).get(storedID).remove(projectNumber);
+      }
+    });
+  }
+
+  /**
+   * Removes a project from the table and its indexes.
+   *
+   * @return The removed project, or null if it did not exist.
+   */
+  private Project remove(int projectNumber) {
+    Project project = projects.remove(projectNumber);
+    if (project == null) {
+      return null;
+    }
+
+    projectNumbers.remove(projectNumber);
+    byFinalised.get(project.finalised()).remove(projectNumber);
+    if (project.deadline() != null) {
+      byDeadline.get(toLocalDate(project.deadline())).remove(projectNumber);
+    }
+    ROLE_COLUMNS.forEach((column, role) -> byRole.get(column).get(idOf(role.apply(project))).remove(projectNumber));
+    return project;
+  }
+
+  /**
+   * @return A copy of the project with its people filled in, or null if no project is given.
+   */
+  private Project resolve(Project project) {
+    if (project == null) {
+      return null;
+    }
+    return new Project(
+      project.projectNumber(), project.projectName(), project.buildingType(), project.physicalAddress(),
+      project.erfNumber(), project.totalFee(), project.amountPaidToDate(), project.startDate(),
+      project.deadline(), project.finalised(), project.completionDate(),
+      lookup(Engineer.class, project.engineer()),
+      lookup(Manager.class, project.manager()),
+      lookup(Architect.class, project.architect()),
+      lookup(Contractor.class, project.contractor()),
+      lookup(Customer.class, project.customer())
+    );
+  }
+
+  /**
+   * @return The stored person with the ID of the given reference, or null if there is none.
+   */
+  private <T extends Person> T lookup(Class<T> clazz, Person reference) {
+    return (reference == null) ? null : persons.findById(clazz, reference.id());
+  }
+
+  /**
+   * @return True if every person the project refers to exists, as a foreign key would require.
+   */
+  private boolean assignable(Project project) {
+    for (Function<Project, Person> role : ROLE_COLUMNS.values()) {
+      Person person = role.apply(project);
+      if (person != null && persons.findById(person.getClass(), person.id()) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Applies one staged edit to a project, converting the value as the database would.
+   *
+   * @param project The project.
+   * @param column  The name of the edited column.
+   * @param value   The new value.
+   * @return        The edited copy of the project.
+   */
+  private static Project withField(Project project, String column, Object value) {
+    String projectName = project.projectName();
+    String buildingType = project.buildingType();
+    String physicalAddress = project.physicalAddress();
+    String erfNumber = project.erfNumber();
+    BigDecimal totalFee = project.totalFee();
+    BigDecimal amountPaidToDate = project.amountPaidToDate();
+    Date deadline = project.deadline();
+    boolean finalised = project.finalised();
+    Date completionDate = project.completionDate();
+    Engineer engineer = project.engineer();
+    Manager manager = project.manager();
+    Architect architect = project.architect();
+    Contractor contractor = project.contractor();
+    Customer customer = project.customer();
+
+    switch (column) {
+      case "ProjectName" -> projectName = (String) value;
+      case "BuildingType" -> buildingType = (String) value;
+      case "PhysicalAddress" -> physicalAddress = (String) value;
+      case "ERFNumber" -> erfNumber = (String) value;
+      case "TotalFee" -> totalFee = scale(toBigDecimal(value));
+      case "AmountPaidToDate" -> amountPaidToDate = scale(toBigDecimal(value));
+      case "Deadline" -> deadline = toDate(value);
+      case "Finalised" -> finalised = (Boolean) value;
+      case "CompletionDate" -> completionDate = toDate(value);
+      case "EngineerID" -> engineer = reference(Engineer.class, value);
+      case "ManagerID" -> manager = reference(Manager.class, value);
+      case "ArchitectID" -> architect = reference(Architect.class, value);
+      case "ContractorID" -> contractor = reference(Contractor.class, value);
+      case "CustomerID" -> customer = reference(Customer.class, value);
+      default -> throw new IllegalArgumentException("Invalid project field: " + column);
+    }
+
+    return new Project(
+      project.projectNumber(), projectName, buildingType, physicalAddress, erfNumber, totalFee,
+      amountPaidToDate, project.startDate(), deadline, finalised, completionDate,
+      engineer, manager, architect, contractor, customer
+    );
+  }
+
+  /**
+   * @return The bucket under a key of an index, created if it does not exist yet.
+   */
+  private static <K> Bucket bucket(Map<K, Bucket> index, K key) {
+    return index.computeIfAbsent(key, k -> new Bucket());
+  }
+
+  /**
+   * @return The ID of the person, or {@link #UNASSIGNED} if no one is assigned.
+   */
+  private static int idOf(Person person) {
+    return (person == null) ? UNASSIGNED : person.id();
+  }
+
+  /**
+   * @return A person carrying only the given ID, or null if no ID is given.
+   */
+  private static <T extends Person> T reference(Class<T> clazz, Object id) {
+    return (id == null) ? null : Read.createPerson(clazz, ((Number) id).intValue(), null, null, null, null);
+  }
+
+  /**
+   * @return The amount rounded to cents, or zero if no amount is given.
+   */
+  private static BigDecimal scale(BigDecimal amount) {
+    return (amount == null) ? BigDecimal.ZERO.setScale(2) : amount.setScale(2, RoundingMode.HALF_UP);
+  }
+
+  /**
+   * @return A number or numeric text as a BigDecimal, or null if no value is given.
+   */
+  private static BigDecimal toBigDecimal(Object value) {
+    return switch (value) {
+      case null -> null;
+      case BigDecimal amount -> amount;
+      case Number number -> BigDecimal.valueOf(number.doubleValue());
+      default -> new BigDecimal(value.toString());
+    };
+  }
+
+  /**
+   * @return A date or yyyy-MM-dd text as a java.sql.Date, or null if no value is given.
+   */
+  private static Date toDate(Object value) {
+    return switch (value) {
+      case null -> null;
+      case java.sql.Date date -> date;
+      case Date date -> new java.sql.Date(date.getTime());
+      default -> java.sql.Date.valueOf(LocalDate.parse(value.toString()));
+    };
+  }
+
+  /**
+   * @return The date as a LocalDate.
+   */
+  private static LocalDate toLocalDate(Date date) {
+    return new java.sql.Date(date.getTime()).toLocalDate();
+  }
+}
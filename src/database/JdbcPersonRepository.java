@@ -0,0 +1,50 @@
+package database;
+
+import records.Person;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps people in the MySQL database, through {@link Read}, {@link Create} and {@link Delete},
+ * so lookups by ID go through the person cache.
+ */
+public class JdbcPersonRepository implements PersonRepository {
+
+  @Override
+  public <T extends Person> T findById(Class<T> clazz, int id) {
+    List<? extends Person> persons = Read.findPersonById(clazz, id);
+    return persons.isEmpty() ? null : clazz.cast(persons.getFirst());
+  }
+
+  @Override
+  public <T extends Person> Map<Integer, T> findByIds(Class<T> clazz, Collection<Integer> ids) {
+    return Read.getPersonsByIds(clazz, ids);
+  }
+
+  @Override
+  public List<? extends Person> findByName(Class<? extends Person> clazz, String name, boolean prefixOnly, int limit) {
+    return Read.findPersonsByName(clazz, name, prefixOnly, limit);
+  }
+
+  @Override
+  public List<? extends Person> findAll(Class<? extends Person> clazz, List<Integer> excludedPersonIDs) {
+    return Read.getAllPersons(clazz, excludedPersonIDs);
+  }
+
+  @Override
+  public Person create(String role, String name, String telephoneNumber, String emailAddress, String physicalAddress) {
+    return Create.createNewPerson(role, name, telephoneNumber, emailAddress, physicalAddress);
+  }
+
+  @Override
+  public <T extends Person> List<T> createAll(Class<T> clazz, List<? extends T> persons) {
+    return Create.createNewPersons(clazz, persons);
+  }
+
+  @Override
+  public void delete(Person person) {
+    Delete.deletePerson(person);
+  }
+}
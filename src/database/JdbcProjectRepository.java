@@ -0,0 +1,70 @@
+package database;
+
+import records.Customer;
+import records.Project;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps projects in the MySQL database, through {@link Read}, {@link Create}, {@link Update} and {@link Delete},
+ * so reads go through the query and project caches.
+ */
+public class JdbcProjectRepository implements ProjectRepository {
+
+  @Override
+  public Project findByNumber(int projectNumber) {
+    return Read.getProject(projectNumber);
+  }
+
+  @Override
+  public List<Project> find(ProjectCriteria criteria, String... fields) {
+    return Read.readProjects(criteria, fields);
+  }
+
+  @Override
+  public ProjectPage findAfter(ProjectCriteria criteria, int projectNumber, int pageSize, String... fields) {
+    return Read.readProjectsAfter(criteria, projectNumber, pageSize, fields);
+  }
+
+  @Override
+  public ProjectPage findBefore(ProjectCriteria criteria, int projectNumber, int pageSize, String... fields) {
+    return Read.readProjectsBefore(criteria, projectNumber, pageSize, fields);
+  }
+
+  @Override
+  public long stream(ProjectCriteria criteria, Consumer<Project> action, String... fields) {
+    return Read.streamProjects(action, criteria, fields);
+  }
+
+  @Override
+  public int count(ProjectCriteria criteria) {
+    String query = "SELECT COUNT(*) AS Projects FROM projects WHERE " + criteria.toSql();
+    List<Map<String, Object>> rows = DatabaseManager.executeQuery(query, criteria.parameters());
+    return rows.isEmpty() ? -1 : ((Number) rows.getFirst().get("Projects")).intValue();
+  }
+
+  @Override
+  public Project create(String projectName, String buildingType, String physicalAddress,
+                        String erfNumber, BigDecimal totalFee, Date deadline, Customer customer) {
+    return Create.createNewProject(projectName, buildingType, physicalAddress, erfNumber, totalFee, deadline, customer);
+  }
+
+  @Override
+  public List<Project> createAll(List<Project> projects) {
+    return Create.createNewProjects(projects);
+  }
+
+  @Override
+  public int update(ProjectChanges changes) {
+    return Update.updateProject(changes);
+  }
+
+  @Override
+  public void delete(Project project) {
+    Delete.deleteProject(project);
+  }
+}
@@ -0,0 +1,131 @@
+package database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, lock-free histogram of durations in nanoseconds, in the style of HdrHistogram.
+ *
+ * Values are counted in log-linear buckets: each power of two is split into 32 equal buckets,
+ * so any value is reported to within about 3% of its true size, from nanoseconds up to hours,
+ * in a fixed amount of memory. Recording a value is a few atomic increments.
+ */
+class LatencyHistogram {
+  // Each power of two is split into 2^SUB_BUCKET_BITS buckets
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos The duration in nanoseconds. Negative durations are recorded as 0.
+   */
+  void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketOf(value));
+    count.increment();
+    total.add(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Summarises the recorded durations. Values recorded while the snapshot is taken may or may not be included.
+   *
+   * @return The summary.
+   */
+  LatencyStats snapshot() {
+    long[] buckets = new long[BUCKETS];
+    long recorded = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = counts.get(i);
+      recorded += buckets[i];
+    }
+    if (recorded == 0) {
+      return new LatencyStats(0, 0, 0, 0, 0, 0);
+    }
+
+    long highest = max.get();
+    return new LatencyStats(
+      recorded,
+      (double) total.sum() / count.sum(),
+      Math.min(percentile(buckets, recorded, 50), highest),
+      Math.min(percentile(buckets, recorded, 95), highest),
+      Math.min(percentile(buckets, recorded, 99), highest),
+      highest
+    );
+  }
+
+  /**
+   * Clears every recorded duration.
+   */
+  void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    total.reset();
+    max.set(0);
+  }
+
+  /**
+   * @param buckets    The bucket counts.
+   * @param recorded   The sum of the bucket counts.
+   * @param percentile The percentile, between 0 and 100.
+   * @return           The midpoint of the bucket holding the value at the percentile.
+   */
+  private static long percentile(long[] buckets, long recorded, double percentile) {
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets[i];
+      if (seen >= rank) {
+        return lowestValueOf(i) + widthOf(i) / 2;
+      }
+    }
+    return lowestValueOf(BUCKETS - 1);
+  }
+
+  /**
+   * @param value A non-negative value.
+   * @return      The bucket the value is counted in.
+   */
+  private static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * @param bucket A bucket.
+   * @return       The lowest value counted in the bucket.
+   */
+  private static long lowestValueOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (magnitude - SUB_BUCKET_BITS);
+  }
+
+  /**
+   * @param bucket A bucket.
+   * @return       The number of distinct values counted in the bucket.
+   */
+  private static long widthOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return 1;
+    }
+    int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    return 1L << (magnitude - SUB_BUCKET_BITS);
+  }
+}
@@ -0,0 +1,22 @@
+package database;
+
+/**
+ * A snapshot of a latency histogram. Durations are in nanoseconds.
+ *
+ * @param count The number of recorded durations.
+ * @param mean  The mean duration.
+ * @param p50   The median duration.
+ * @param p95   The 95th percentile.
+ * @param p99   The 99th percentile.
+ * @param max   The longest duration.
+ */
+public record LatencyStats(long count, double mean, long p50, long p95, long p99, long max) {
+
+  /**
+   * @param nanos A duration in nanoseconds.
+   * @return      The duration in milliseconds.
+   */
+  public static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
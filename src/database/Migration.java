@@ -0,0 +1,13 @@
+package database;
+
+import java.util.List;
+
+/**
+ * One versioned change to the database schema.
+ *
+ * @param version     The schema version the migration brings the database to. Versions are applied in order.
+ * @param description A short description, recorded in the schema_version table.
+ * @param statements  The SQL statements of the migration, run one after the other.
+ */
+record Migration(int version, String description, List<String> statements) {
+}
@@ -0,0 +1,66 @@
+package database;
+
+import records.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Caches people by role and ID in front of the role tables.
+ *
+ * Each role has its own bounded cache. Anything that writes to a role table must
+ * invalidate the affected person so that later reads go back to the database.
+ */
+class PersonCache {
+  // Cache settings, overridable with -Dpoisepms.personCache.<setting>=<value>
+  private static final int MAX_SIZE = Integer.getInteger("poisepms.personCache.maxSize", 1_000);
+  private static final long TIME_TO_LIVE_MILLIS = Long.getLong("poisepms.personCache.ttlMillis", 600_000L);
+
+  private static final Map<Class<? extends Person>, Cache<Integer, Person>> CACHES = new LinkedHashMap<>();
+
+  static {
+    for (Class<? extends Person> role : List.of(
+      Engineer.class, Manager.class, Architect.class, Contractor.class, Customer.class)) {
+      CACHES.put(role, new Cache<>(role.getSimpleName().toLowerCase() + "s", MAX_SIZE, TIME_TO_LIVE_MILLIS));
+    }
+  }
+
+  private PersonCache() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Returns a cached person, loading it from the database on a miss.
+   *
+   * @param clazz  The class type of the person.
+   * @param id     The ID of the person.
+   * @param loader Loads the person from the database.
+   * @param <T>    The type of person.
+   * @return       The person, or null if they do not exist.
+   */
+  static <T extends Person> T get(Class<T> clazz, int id, IntFunction<T> loader) {
+    return clazz.cast(CACHES.get(clazz).get(id, loader::apply));
+  }
+
+  /**
+   * Removes a person from the cache after they have been written to.
+   *
+   * @param clazz The class type of the person.
+   * @param id    The ID of the person.
+   */
+  static void invalidate(Class<? extends Person> clazz, int id) {
+    CACHES.get(clazz).invalidate(id);
+  }
+
+  /**
+   * @return The counters of every role's cache.
+   */
+  static List<CacheStats> stats() {
+    List<CacheStats> stats = new ArrayList<>();
+    CACHES.values().forEach(cache -> stats.add(cache.stats()));
+    return stats;
+  }
+}
@@ -0,0 +1,76 @@
+package database;
+
+import records.Person;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores and finds the people of every role, independently of where they are kept.
+ *
+ * Available through {@link Repositories#persons()}, backed by MySQL by default
+ * ({@link JdbcPersonRepository}) or by memory ({@link InMemoryPersonRepository}).
+ */
+public interface PersonRepository {
+
+  /**
+   * @param clazz The class type of the person (e.g., Contractor.class).
+   * @param id    The ID of the person.
+   * @param <T>   The type of person.
+   * @return      The person, or null if not found.
+   */
+  <T extends Person> T findById(Class<T> clazz, int id);
+
+  /**
+   * @param clazz The class type of the persons.
+   * @param ids   The IDs of the persons. Null IDs are ignored.
+   * @param <T>   The type of person.
+   * @return      The persons found, keyed by their ID.
+   */
+  <T extends Person> Map<Integer, T> findByIds(Class<T> clazz, Collection<Integer> ids);
+
+  /**
+   * @param clazz      The class type of the persons.
+   * @param name       The text to search for, matched without regard to case.
+   * @param prefixOnly True to only match names starting with the text, false to match names containing it.
+   * @param limit      The maximum number of persons to return.
+   * @return           At most {@code limit} matching persons, ordered by name.
+   */
+  List<? extends Person> findByName(Class<? extends Person> clazz, String name, boolean prefixOnly, int limit);
+
+  /**
+   * @param clazz             The class type of the persons.
+   * @param excludedPersonIDs The IDs of persons to leave out.
+   * @return                  Every person of the role, other than the excluded ones.
+   */
+  List<? extends Person> findAll(Class<? extends Person> clazz, List<Integer> excludedPersonIDs);
+
+  /**
+   * @param role            The role of the person (e.g., "architect", "contractor").
+   * @param name            The name of the person.
+   * @param telephoneNumber The telephone number of the person.
+   * @param emailAddress    The email address of the person.
+   * @param physicalAddress The physical address of the person.
+   * @return                The created person, or null if creation fails.
+   */
+  Person create(String role, String name, String telephoneNumber, String emailAddress, String physicalAddress);
+
+  /**
+   * Inserts many people of one role at once. Their IDs are ignored, and if any person
+   * fails to insert, none of them are inserted.
+   *
+   * @param clazz   The class type of the people.
+   * @param persons The people to insert.
+   * @param <T>     The type of person.
+   * @return        The inserted people with their new IDs, in the same order, or an empty list if the insert fails.
+   */
+  <T extends Person> List<T> createAll(Class<T> clazz, List<? extends T> persons);
+
+  /**
+   * Deletes a person. Their projects are unassigned from them, or deleted if they are the customer.
+   *
+   * @param person The person to delete.
+   */
+  void delete(Person person);
+}
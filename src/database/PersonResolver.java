@@ -0,0 +1,157 @@
+package database;
+
+import records.Person;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the people referenced by a batch of query results.
+ *
+ * A resolver acts as an identity map for the lifetime of one query: every person is
+ * created at most once per role and ID, and the same instance is shared by every record
+ * that references it. IDs that are not yet known can be queued with {@link #request}
+ * and are then fetched with a single {@code WHERE id IN (...)} query per role, with the
+ * queries of different roles running concurrently.
+ *
+ * For streamed results the identity map can be bounded, keeping only the most recently used
+ * people of each role. A person evicted and seen again is then created a second time.
+ */
+class PersonResolver {
+  // Keeps IN lists well below the packet and placeholder limits of the server
+  private static final int MAX_IDS_PER_QUERY = 1000;
+
+  private final Map<Class<? extends Person>, Map<Integer, Person>> identityMap = new HashMap<>();
+  private final Map<Class<? extends Person>, Set<Integer>> pending = new LinkedHashMap<>();
+  private final int maxPeoplePerRole;
+
+  /**
+   * Creates a resolver that keeps every person it resolves.
+   */
+  PersonResolver() {
+    this(0);
+  }
+
+  /**
+   * Creates a resolver that keeps at most the given number of people per role, least recently used first out.
+   * Bounded resolvers are meant for mapping rows and must not be used to {@link #request} people.
+   *
+   * @param maxPeoplePerRole The maximum number of people kept per role, or 0 to keep every person.
+   */
+  PersonResolver(int maxPeoplePerRole) {
+    this.maxPeoplePerRole = maxPeoplePerRole;
+  }
+
+  /**
+   * Returns the person already resolved for the given role and ID, creating it on first use.
+   *
+   * @param clazz   The class type of the person.
+   * @param id      The ID of the person, or null if no one is assigned.
+   * @param factory Creates the person if it has not been resolved yet.
+   * @param <T>     The type of person.
+   * @return        The shared person instance, or null if the ID is null.
+   */
+  <T extends Person> T resolve(Class<T> clazz, Integer id, Supplier<T> factory) {
+    if (id == null) {
+      return null;
+    }
+    Map<Integer, Person> people = identityMap.computeIfAbsent(clazz, key -> newTable());
+    return clazz.cast(people.computeIfAbsent(id, key -> factory.get()));
+  }
+
+  /**
+   * Queues a person to be fetched by the next call to {@link #fetchPending()}.
+   *
+   * @param clazz The class type of the person.
+   * @param id    The ID of the person, ignored if null or already resolved.
+   */
+  void request(Class<? extends Person> clazz, Integer id) {
+    if (id == null || identityMap.getOrDefault(clazz, Map.of()).containsKey(id)) {
+      return;
+    }
+    pending.computeIfAbsent(clazz, key -> new LinkedHashSet<>()).add(id);
+  }
+
+  /**
+   * Fetches every queued person. The query of each role, and of each chunk of IDs,
+   * runs concurrently, and the people found are added to the identity map once all have finished.
+   */
+  void fetchPending() {
+    List<CompletableFuture<? extends List<? extends Person>>> fetches = new ArrayList<>();
+    for (Map.Entry<Class<? extends Person>, Set<Integer>> entry : pending.entrySet()) {
+      fetches.addAll(fetch(entry.getKey(), new ArrayList<>(entry.getValue())));
+    }
+    pending.clear();
+
+    // The identity map is not thread-safe, so people are only registered on this thread
+    for (CompletableFuture<? extends List<? extends Person>> fetch : fetches) {
+      for (Person person : fetch.join()) {
+        register(person);
+      }
+    }
+  }
+
+  /**
+   * Returns a person that has already been resolved or fetched.
+   *
+   * @param clazz The class type of the person.
+   * @param id    The ID of the person.
+   * @param <T>   The type of person.
+   * @return      The person, or null if the ID is null or the person does not exist.
+   */
+  <T extends Person> T get(Class<T> clazz, Integer id) {
+    if (id == null) {
+      return null;
+    }
+    return clazz.cast(identityMap.getOrDefault(clazz, Map.of()).get(id));
+  }
+
+  /**
+   * Starts fetching the given people of one role, one query per chunk of IDs.
+   *
+   * @param clazz The class type of the people.
+   * @param ids   The IDs of the people to fetch.
+   * @param <T>   The type of person.
+   * @return      One future per query, each completed with the people it found.
+   */
+  private <T extends Person> List<CompletableFuture<List<T>>> fetch(Class<T> clazz, List<Integer> ids) {
+    String tableName = clazz.getSimpleName().toLowerCase() + "s";
+    String idName = clazz.getSimpleName() + "ID";
+    List<CompletableFuture<List<T>>> fetches = new ArrayList<>();
+
+    for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+      List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+      String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+      String query = "SELECT * FROM " + tableName + " WHERE " + idName + " IN (" + placeholders + ")";
+
+      // Each query maps its rows with its own resolver, as it runs on another thread
+      fetches.add(DatabaseManager.queryAsync(query, PersonRowMapper.forTable(clazz, new PersonResolver()), chunk.toArray()));
+    }
+    return fetches;
+  }
+
+  /**
+   * Adds a fetched person to the identity map, unless the person has already been resolved.
+   *
+   * @param person The person to add.
+   */
+  private void register(Person person) {
+    identityMap.computeIfAbsent(person.getClass(), key -> newTable()).putIfAbsent(person.id(), person);
+  }
+
+  /**
+   * @return An empty table of people for one role, bounded if the resolver is.
+   */
+  private Map<Integer, Person> newTable() {
+    if (maxPeoplePerRole <= 0) {
+      return new HashMap<>();
+    }
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Person> eldest) {
+        return size() > maxPeoplePerRole;
+      }
+    };
+  }
+}
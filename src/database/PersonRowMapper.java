@@ -0,0 +1,106 @@
+package database;
+
+import records.Person;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Maps rows of a role table, or the joined role columns of a project row, to people.
+ *
+ * People are registered with a {@link PersonResolver} so that the same person is
+ * only created once per query. If the result set only holds a person's ID, the
+ * person is mapped as a reference that carries the ID and no contact details.
+ *
+ * @param <T> The type of person.
+ */
+class PersonRowMapper<T extends Person> implements RowMapper<T> {
+  private final Class<T> clazz;
+  private final PersonResolver people;
+  private final int idColumn;
+  private final int nameColumn;
+  private final int telephoneNumberColumn;
+  private final int emailAddressColumn;
+  private final int physicalAddressColumn;
+
+  /**
+   * Resolves the person columns of a result set.
+   *
+   * @param columns The column indexes of the result set, keyed by label.
+   * @param clazz   The class type of the person.
+   * @param idLabel The label of the column holding the person's ID.
+   * @param prefix  The prefix of the person's other column labels (e.g., "Engineer"), or "" for none.
+   * @param people  The identity map of the current query.
+   * @throws SQLException If the ID column is missing.
+   */
+  PersonRowMapper(Map<String, Integer> columns, Class<T> clazz, String idLabel, String prefix, PersonResolver people)
+    throws SQLException {
+
+    if (!columns.containsKey(idLabel)) {
+      throw new SQLException("Column '" + idLabel + "' not found.");
+    }
+    this.clazz = clazz;
+    this.people = people;
+    this.idColumn = columns.get(idLabel);
+    this.nameColumn = columns.getOrDefault(prefix + "Name", 0);
+    this.telephoneNumberColumn = columns.getOrDefault(prefix + "TelephoneNumber", 0);
+    this.emailAddressColumn = columns.getOrDefault(prefix + "EmailAddress", 0);
+    this.physicalAddressColumn = columns.getOrDefault(prefix + "PhysicalAddress", 0);
+  }
+
+  /**
+   * Returns a factory for mapping rows of the role table of the given class.
+   *
+   * @param clazz  The class type of the person.
+   * @param people The identity map of the current query.
+   * @param <T>    The type of person.
+   * @return       The row mapper factory.
+   */
+  static <T extends Person> RowMapper.Factory<T> forTable(Class<T> clazz, PersonResolver people) {
+    return resultSet -> new PersonRowMapper<>(
+      RowMapper.columnIndexes(resultSet), clazz, clazz.getSimpleName() + "ID", "", people);
+  }
+
+  /**
+   * Maps the person in the current row.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @return          The person, or null if the ID column is NULL.
+   * @throws SQLException If a column could not be read.
+   */
+  @Override
+  public T mapRow(ResultSet resultSet) throws SQLException {
+    int id = resultSet.getInt(idColumn);
+    if (resultSet.wasNull()) {
+      return null;
+    }
+
+    T person = people.get(clazz, id);
+    if (person != null) {
+      return person;
+    }
+
+    T created = Read.createPerson(
+      clazz,
+      id,
+      getString(resultSet, nameColumn),
+      getString(resultSet, telephoneNumberColumn),
+      getString(resultSet, emailAddressColumn),
+      getString(resultSet, physicalAddressColumn)
+    );
+    return people.resolve(clazz, id, () -> created);
+  }
+
+  /**
+   * Reads an optional string column.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @param column    The column index, or 0 if the column was not selected.
+   * @return          The value, or null if the column was not selected.
+   * @throws SQLException If the column could not be read.
+   */
+  private static String getString(ResultSet resultSet, int column) throws SQLException {
+    return (column == 0) ? null : resultSet.getString(column);
+  }
+}
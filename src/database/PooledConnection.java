@@ -0,0 +1,100 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A physical database connection on loan from a {@link ConnectionPool}.
+ *
+ * Closing a pooled connection does not close the underlying connection,
+ * it hands it back to the pool it was borrowed from. Statements prepared through
+ * the pooled connection are cached with it and must not be closed by the caller.
+ */
+class PooledConnection implements AutoCloseable {
+  private final ConnectionPool pool;
+  private final Connection connection;
+  private final StatementCache statements;
+  private final long createdAt;
+  private long lastUsedAt;
+
+  /**
+   * Wraps a physical connection owned by the given pool.
+   *
+   * @param pool               The pool that owns the connection.
+   * @param connection         The physical connection.
+   * @param statementCacheSize The number of prepared statements to keep open on the connection.
+   */
+  PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) {
+    this.pool = pool;
+    this.connection = connection;
+    this.statements = new StatementCache(connection, statementCacheSize);
+    this.createdAt = System.nanoTime();
+    this.lastUsedAt = createdAt;
+  }
+
+  /**
+   * @return The underlying physical connection.
+   */
+  Connection connection() {
+    return connection;
+  }
+
+  /**
+   * Returns a cached prepared statement for the given SQL, preparing it on first use.
+   *
+   * @param sql The SQL text of the statement.
+   * @return    The prepared statement. It must not be closed by the caller.
+   * @throws SQLException If the statement could not be prepared.
+   */
+  PreparedStatement prepareStatement(String sql) throws SQLException {
+    return statements.prepare(sql, Statement.NO_GENERATED_KEYS);
+  }
+
+  /**
+   * Returns a cached prepared statement for the given SQL, preparing it on first use.
+   *
+   * @param sql               The SQL text of the statement.
+   * @param autoGeneratedKeys Either Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS.
+   * @return                  The prepared statement. It must not be closed by the caller.
+   * @throws SQLException If the statement could not be prepared.
+   */
+  PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+    return statements.prepare(sql, autoGeneratedKeys);
+  }
+
+  /**
+   * @return The System.nanoTime() at which the connection was last handed back to the pool.
+   */
+  long lastUsedAt() {
+    return lastUsedAt;
+  }
+
+  /**
+   * Marks the connection as used just now.
+   */
+  void touch() {
+    lastUsedAt = System.nanoTime();
+  }
+
+  /**
+   * Closes the underlying physical connection, ignoring any errors.
+   */
+  void closePhysical() {
+    statements.clear();
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      // The connection is being discarded, nothing else to do
+    }
+  }
+
+  /**
+   * Returns the connection to the pool it was borrowed from.
+   */
+  @Override
+  public void close() {
+    pool.release(this);
+  }
+}
@@ -0,0 +1,67 @@
+package database;
+
+import records.Project;
+
+import java.util.function.IntFunction;
+
+/**
+ * Caches projects by project number.
+ *
+ * Projects are immutable records, so a cached project can be shared freely. Anything that
+ * writes to the projects table, or to a role table a project refers to, must invalidate
+ * the affected projects so that later reads go back to the database.
+ */
+class ProjectCache {
+  // Cache settings, overridable with -Dpoisepms.projectCache.<setting>=<value>
+  private static final int MAX_SIZE = Integer.getInteger("poisepms.projectCache.maxSize", 1_000);
+  private static final long TIME_TO_LIVE_MILLIS = Long.getLong("poisepms.projectCache.ttlMillis", 600_000L);
+
+  private static final Cache<Integer, Project> CACHE = new Cache<>("projects", MAX_SIZE, TIME_TO_LIVE_MILLIS);
+
+  private ProjectCache() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Returns a cached project, loading it from the database on a miss.
+   *
+   * @param projectNumber The project number.
+   * @param loader        Loads the project from the database.
+   * @return              The project, or null if it does not exist.
+   */
+  static Project get(int projectNumber, IntFunction<Project> loader) {
+    return CACHE.get(projectNumber, loader::apply);
+  }
+
+  /**
+   * Caches a project that was just read or written.
+   *
+   * @param project The project.
+   */
+  static void put(Project project) {
+    CACHE.put(project.projectNumber(), project);
+  }
+
+  /**
+   * Removes a project from the cache after it has been written to.
+   *
+   * @param projectNumber The project number.
+   */
+  static void invalidate(int projectNumber) {
+    CACHE.invalidate(projectNumber);
+  }
+
+  /**
+   * Removes every project from the cache, e.g. after a person they refer to was deleted.
+   */
+  static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  /**
+   * @return The counters of the project cache.
+   */
+  static CacheStats stats() {
+    return CACHE.stats();
+  }
+}
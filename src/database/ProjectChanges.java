@@ -0,0 +1,78 @@
+package database;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Field edits to one project, staged so that they can be saved together with
+ * {@link Update#updateProject(ProjectChanges)} in a single UPDATE.
+ *
+ * Editing the same field twice keeps the latest value.
+ */
+public class ProjectChanges {
+  private final int projectNumber;
+  private final Map<String, Object> fields = new LinkedHashMap<>();
+
+  /**
+   * @param projectNumber The project number of the project being edited.
+   */
+  public ProjectChanges(int projectNumber) {
+    this.projectNumber = projectNumber;
+  }
+
+  /**
+   * Stages a new value for a field of the project.
+   *
+   * @param field The name of the column to update (e.g., "ProjectName").
+   * @param value The new value of the field.
+   * @return      These changes.
+   */
+  public ProjectChanges set(String field, Object value) {
+    Update.checkProjectField(field);
+    fields.put(field, value);
+    return this;
+  }
+
+  /**
+   * Stages the finalised status of the project, with its completion date set to today
+   * when it is finalised and cleared otherwise.
+   *
+   * @param finalised Whether the project is finalised.
+   * @return          These changes.
+   */
+  public ProjectChanges finalised(boolean finalised) {
+    fields.put("Finalised", finalised);
+    fields.put("CompletionDate", finalised ? java.sql.Date.valueOf(LocalDate.now()) : null);
+    return this;
+  }
+
+  /**
+   * @return The project number of the project being edited.
+   */
+  public int projectNumber() {
+    return projectNumber;
+  }
+
+  /**
+   * @return True if no edits are staged.
+   */
+  public boolean isEmpty() {
+    return fields.isEmpty();
+  }
+
+  /**
+   * @return The staged values, keyed by column name, in the order they were first edited.
+   */
+  Map<String, Object> fields() {
+    return Collections.unmodifiableMap(fields);
+  }
+
+  /**
+   * Discards every staged edit.
+   */
+  public void clear() {
+    fields.clear();
+  }
+}
@@ -0,0 +1,204 @@
+package database;
+
+import records.Person;
+import records.Project;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Builds the conditions used to select projects.
+ *
+ * Every condition is written with "?" placeholders and bound parameters, so the same kind
+ * of search always produces the same SQL text and can reuse cached statements and plans.
+ * Each condition can also be tested against a project in memory, for repositories that
+ * do not use SQL.
+ *
+ * Example:
+ * <pre>
+ *   Read.readProjects(ProjectCriteria.all().finalised(false).pastDeadline());
+ * </pre>
+ */
+public class ProjectCriteria {
+  private final String chainBy;
+  private final List<String> conditions = new ArrayList<>();
+  private final List<Object> parameters = new ArrayList<>();
+  private final List<Predicate<Project>> tests = new ArrayList<>();
+
+  // Equality conditions on indexed columns, keyed by column, for in-memory index lookups
+  private final Map<String, Object> indexedEqualities = new LinkedHashMap<>();
+  private boolean pastDeadline;
+
+  /**
+   * @param chainBy The logical operator used to chain the conditions ("AND" or "OR").
+   */
+  private ProjectCriteria(String chainBy) {
+    this.chainBy = chainBy;
+  }
+
+  /**
+   * @return Criteria matching projects that meet every condition added to it.
+   */
+  public static ProjectCriteria all() {
+    return new ProjectCriteria("AND");
+  }
+
+  /**
+   * @return Criteria matching projects that meet at least one condition added to it.
+   */
+  public static ProjectCriteria any() {
+    return new ProjectCriteria("OR");
+  }
+
+  /**
+   * Matches the project with the given project number.
+   *
+   * @param projectNumber The project number.
+   * @return              These criteria.
+   */
+  public ProjectCriteria projectNumber(int projectNumber) {
+    indexedEqualities.put("ProjectNumber", projectNumber);
+    return add("ProjectNumber = ?", project -> project.projectNumber() == projectNumber, projectNumber);
+  }
+
+  /**
+   * Matches projects whose name contains the given text.
+   *
+   * @param text The text to search for. LIKE wildcards in it are matched literally.
+   * @return     These criteria.
+   */
+  public ProjectCriteria projectNameContains(String text) {
+    // LIKE is case-insensitive under the default collation
+    String lowerCaseText = text.toLowerCase();
+    return add(
+      "ProjectName LIKE ?",
+      project -> project.projectName() != null && project.projectName().toLowerCase().contains(lowerCaseText),
+      "%" + DatabaseManager.escapeLike(text) + "%"
+    );
+  }
+
+  /**
+   * Matches projects with the given finalised status.
+   *
+   * @param finalised Whether the project is finalised.
+   * @return          These criteria.
+   */
+  public ProjectCriteria finalised(boolean finalised) {
+    indexedEqualities.put("Finalised", finalised);
+    return add("Finalised = ?", project -> project.finalised() == finalised, finalised);
+  }
+
+  /**
+   * Matches projects whose deadline has passed.
+   *
+   * @return These criteria.
+   */
+  public ProjectCriteria pastDeadline() {
+    pastDeadline = true;
+    return add("Deadline < CURRENT_DATE", project -> project.deadline() != null
+      && new java.sql.Date(project.deadline().getTime()).toLocalDate().isBefore(LocalDate.now()));
+  }
+
+  /**
+   * Matches projects that belong to the given customer.
+   *
+   * @param customerID The ID of the customer.
+   * @return           These criteria.
+   */
+  public ProjectCriteria customer(int customerID) {
+    indexedEqualities.put("CustomerID", customerID);
+    return add("CustomerID = ?", project -> project.customer() != null && project.customer().id() == customerID, customerID);
+  }
+
+  /**
+   * Matches projects with no one assigned to the given role.
+   *
+   * @param role The class type of the role (e.g., Engineer.class).
+   * @return     These criteria.
+   */
+  public ProjectCriteria unassigned(Class<? extends Person> role) {
+    indexedEqualities.put(role.getSimpleName() + "ID", null);
+    return add(role.getSimpleName() + "ID IS NULL", project -> personIn(project, role) == null);
+  }
+
+  /**
+   * @return The conditions as a SQL expression, or "TRUE" if there are none.
+   */
+  String toSql() {
+    return conditions.isEmpty() ? "TRUE" : String.join(" " + chainBy + " ", conditions);
+  }
+
+  /**
+   * @return The parameters to bind to the placeholders of {@link #toSql()}, in order.
+   */
+  Object[] parameters() {
+    return parameters.toArray();
+  }
+
+  /**
+   * Tests the conditions against a project in memory, as the SQL expression would in the database.
+   *
+   * @param project The project, with its people carrying at least their ID.
+   * @return        True if the project matches the criteria.
+   */
+  boolean matches(Project project) {
+    if (tests.isEmpty()) {
+      return true;
+    }
+    return chainBy.equals("AND")
+      ? tests.stream().allMatch(test -> test.test(project))
+      : tests.stream().anyMatch(test -> test.test(project));
+  }
+
+  /**
+   * @return The equality conditions on ProjectNumber, Finalised and the role ID columns, keyed by
+   *         column, with null for unassigned roles. Empty unless every condition must be met,
+   *         as only then can one of them narrow down the projects to test.
+   */
+  Map<String, Object> indexedEqualities() {
+    return chainBy.equals("AND") ? Collections.unmodifiableMap(indexedEqualities) : Map.of();
+  }
+
+  /**
+   * @return True if every condition must be met and one of them is that the deadline has passed.
+   */
+  boolean requiresPastDeadline() {
+    return chainBy.equals("AND") && pastDeadline;
+  }
+
+  /**
+   * @param project A project.
+   * @param role    The class type of the role.
+   * @return        The person in the role, or null if no one is assigned.
+   */
+  private static Person personIn(Project project, Class<? extends Person> role) {
+    return switch (role.getSimpleName()) {
+      case "Engineer" -> project.engineer();
+      case "Manager" -> project.manager();
+      case "Architect" -> project.architect();
+      case "Contractor" -> project.contractor();
+      case "Customer" -> project.customer();
+      default -> throw new IllegalArgumentException("Invalid role: " + role.getName());
+    };
+  }
+
+  /**
+   * Adds a condition and its parameters.
+   *
+   * @param condition  The SQL condition, using "?" for each parameter.
+   * @param test       The same condition, tested against a project in memory.
+   * @param parameters The parameters of the condition.
+   * @return           These criteria.
+   */
+  private ProjectCriteria add(String condition, Predicate<Project> test, Object... parameters) {
+    conditions.add(condition);
+    tests.add(test);
+    this.parameters.addAll(List.of(parameters));
+    return this;
+  }
+}
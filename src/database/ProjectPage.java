@@ -0,0 +1,33 @@
+package database;
+
+import records.Project;
+
+import java.util.List;
+
+/**
+ * One page of projects, read in project number order.
+ *
+ * Pages are keyed on the project number rather than an offset, so reading any page costs
+ * the same no matter how far into the results it is. Use {@link #lastProjectNumber()} to read
+ * the next page and {@link #firstProjectNumber()} to read the previous one.
+ *
+ * @param projects    The projects on this page, in ascending project number order.
+ * @param hasPrevious Whether there are matching projects before this page.
+ * @param hasNext     Whether there are matching projects after this page.
+ */
+public record ProjectPage(List<Project> projects, boolean hasPrevious, boolean hasNext) {
+
+  /**
+   * @return The project number of the first project on this page, or 0 if the page is empty.
+   */
+  public int firstProjectNumber() {
+    return projects.isEmpty() ? 0 : projects.getFirst().projectNumber();
+  }
+
+  /**
+   * @return The project number of the last project on this page, or 0 if the page is empty.
+   */
+  public int lastProjectNumber() {
+    return projects.isEmpty() ? 0 : projects.getLast().projectNumber();
+  }
+}
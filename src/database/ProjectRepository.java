@@ -0,0 +1,107 @@
+package database;
+
+import records.Customer;
+import records.Project;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stores and finds projects, independently of where they are kept.
+ *
+ * The menus, imports and exports work through {@link Repositories#projects()}, which is backed by
+ * MySQL by default ({@link JdbcProjectRepository}) or by memory ({@link InMemoryProjectRepository}).
+ *
+ * Projections name the fields to read, as understood by
+ * {@link utils.outputs.DisplayProjects#displayProjectsTable}. Repositories may read more fields than
+ * asked for, but never fewer.
+ */
+public interface ProjectRepository {
+
+  /**
+   * @param projectNumber The project number.
+   * @return              The project with all of its people, or null if not found.
+   */
+  Project findByNumber(int projectNumber);
+
+  /**
+   * @param criteria The criteria to filter the projects.
+   * @param fields   The fields to read. If none are given, all fields are read.
+   * @return         The matching projects, ordered by project number.
+   */
+  List<Project> find(ProjectCriteria criteria, String... fields);
+
+  /**
+   * @param criteria      The criteria to filter the projects.
+   * @param projectNumber The project number to read after, or 0 to read the first page.
+   * @param pageSize      The maximum number of projects on the page.
+   * @param fields        The fields to read. If none are given, all fields are read.
+   * @return              The page of matching projects that follows the project number.
+   */
+  ProjectPage findAfter(ProjectCriteria criteria, int projectNumber, int pageSize, String... fields);
+
+  /**
+   * @param criteria      The criteria to filter the projects.
+   * @param projectNumber The project number to read before.
+   * @param pageSize      The maximum number of projects on the page.
+   * @param fields        The fields to read. If none are given, all fields are read.
+   * @return              The page of matching projects that precedes the project number, in ascending order.
+   */
+  ProjectPage findBefore(ProjectCriteria criteria, int projectNumber, int pageSize, String... fields);
+
+  /**
+   * Passes each matching project to an action without collecting them in a list.
+   *
+   * @param criteria The criteria to filter the projects.
+   * @param action   The action to perform on each project.
+   * @param fields   The fields to read. If none are given, all fields are read.
+   * @return         The number of projects read, or -1 if an error occurs.
+   */
+  long stream(ProjectCriteria criteria, Consumer<Project> action, String... fields);
+
+  /**
+   * @param criteria The criteria to filter the projects.
+   * @return         The number of matching projects, or -1 if an error occurs.
+   */
+  int count(ProjectCriteria criteria);
+
+  /**
+   * Captures a new project for an existing customer, starting today.
+   *
+   * @param projectName     The name of the project.
+   * @param buildingType    The type of building for the project.
+   * @param physicalAddress The physical address of the project.
+   * @param erfNumber       The ERF number of the project.
+   * @param totalFee        The total fee for the project.
+   * @param deadline        The deadline for project completion.
+   * @param customer        The customer associated with the project.
+   * @return                The created project, or null if creation fails.
+   */
+  Project create(String projectName, String buildingType, String physicalAddress,
+                 String erfNumber, BigDecimal totalFee, Date deadline, Customer customer);
+
+  /**
+   * Inserts many projects at once. Their project numbers are ignored, and if any project
+   * fails to insert, none of them are inserted.
+   *
+   * @param projects The projects to insert. Every project must have a customer.
+   * @return         The inserted projects with their new project numbers, in the same order,
+   *                 or an empty list if the insert fails.
+   */
+  List<Project> createAll(List<Project> projects);
+
+  /**
+   * Saves staged edits to a project, and clears them if they were saved.
+   *
+   * @param changes The staged edits.
+   * @return        The number of affected projects, 0 if nothing was staged, or -1 if an error occurs.
+   */
+  int update(ProjectChanges changes);
+
+  /**
+   * @param project The project to delete.
+   */
+  void delete(Project project);
+}
@@ -0,0 +1,163 @@
+package database;
+
+import records.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Maps project rows, together with their joined people, to Project objects.
+ *
+ * Column indexes are resolved once when the mapper is created, and people are shared
+ * through a {@link PersonResolver}: by default every person is created at most once per
+ * result set. Only ProjectNumber and the role ID columns are required: project fields that
+ * were not selected are left null (or false), and roles whose columns were not joined are
+ * mapped as ID-only references.
+ */
+class ProjectRowMapper implements RowMapper<Project> {
+  private final int projectNumberColumn;
+  private final int projectNameColumn;
+  private final int buildingTypeColumn;
+  private final int physicalAddressColumn;
+  private final int erfNumberColumn;
+  private final int totalFeeColumn;
+  private final int amountPaidToDateColumn;
+  private final int startDateColumn;
+  private final int deadlineColumn;
+  private final int finalisedColumn;
+  private final int completionDateColumn;
+
+  private final PersonRowMapper<Engineer> engineers;
+  private final PersonRowMapper<Manager> managers;
+  private final PersonRowMapper<Architect> architects;
+  private final PersonRowMapper<Contractor> contractors;
+  private final PersonRowMapper<Customer> customers;
+
+  /**
+   * Resolves the project and joined person columns of a result set, sharing one instance per
+   * person across every project in the result.
+   *
+   * @param resultSet The result set to read.
+   * @throws SQLException If a required column is missing.
+   */
+  ProjectRowMapper(ResultSet resultSet) throws SQLException {
+    this(resultSet, new PersonResolver());
+  }
+
+  /**
+   * Resolves the project and joined person columns of a result set.
+   *
+   * @param resultSet The result set to read.
+   * @param people    The identity map the people of the result are shared through.
+   * @throws SQLException If a required column is missing.
+   */
+  ProjectRowMapper(ResultSet resultSet, PersonResolver people) throws SQLException {
+    Map<String, Integer> columns = RowMapper.columnIndexes(resultSet);
+    if (!columns.containsKey("ProjectNumber")) {
+      throw new SQLException("Column 'ProjectNumber' not found.");
+    }
+
+    projectNumberColumn = columns.get("ProjectNumber");
+    projectNameColumn = columns.getOrDefault("ProjectName", 0);
+    buildingTypeColumn = columns.getOrDefault("BuildingType", 0);
+    physicalAddressColumn = columns.getOrDefault("PhysicalAddress", 0);
+    erfNumberColumn = columns.getOrDefault("ERFNumber", 0);
+    totalFeeColumn = columns.getOrDefault("TotalFee", 0);
+    amountPaidToDateColumn = columns.getOrDefault("AmountPaidToDate", 0);
+    startDateColumn = columns.getOrDefault("StartDate", 0);
+    deadlineColumn = columns.getOrDefault("Deadline", 0);
+    finalisedColumn = columns.getOrDefault("Finalised", 0);
+    completionDateColumn = columns.getOrDefault("CompletionDate", 0);
+
+    engineers = joined(columns, Engineer.class, people);
+    managers = joined(columns, Manager.class, people);
+    architects = joined(columns, Architect.class, people);
+    contractors = joined(columns, Contractor.class, people);
+    customers = joined(columns, Customer.class, people);
+  }
+
+  /**
+   * Maps the project in the current row.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @return          The Project object.
+   * @throws SQLException If a column could not be read.
+   */
+  @Override
+  public Project mapRow(ResultSet resultSet) throws SQLException {
+    return new Project(
+      resultSet.getInt(projectNumberColumn),
+      getString(resultSet, projectNameColumn),
+      getString(resultSet, buildingTypeColumn),
+      getString(resultSet, physicalAddressColumn),
+      getString(resultSet, erfNumberColumn),
+      getBigDecimal(resultSet, totalFeeColumn),
+      getBigDecimal(resultSet, amountPaidToDateColumn),
+      getDate(resultSet, startDateColumn),
+      getDate(resultSet, deadlineColumn),
+      finalisedColumn != 0 && resultSet.getBoolean(finalisedColumn),
+      getDate(resultSet, completionDateColumn),
+      engineers.mapRow(resultSet),
+      managers.mapRow(resultSet),
+      architects.mapRow(resultSet),
+      contractors.mapRow(resultSet),
+      customers.mapRow(resultSet)
+    );
+  }
+
+  /**
+   * Creates a mapper for the joined columns of one role, which are labelled <Role><Column>.
+   *
+   * @param columns The column indexes of the result set, keyed by label.
+   * @param clazz   The class type of the role.
+   * @param people  The identity map of the current result.
+   * @param <T>     The type of person.
+   * @return        The person mapper.
+   * @throws SQLException If the role's ID column is missing.
+   */
+  private static <T extends Person> PersonRowMapper<T> joined(
+    Map<String, Integer> columns, Class<T> clazz, PersonResolver people) throws SQLException {
+
+    String role = clazz.getSimpleName();
+    return new PersonRowMapper<>(columns, clazz, role + "ID", role, people);
+  }
+
+  /**
+   * Reads an optional string column.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @param column    The column index, or 0 if the column was not selected.
+   * @return          The value, or null if the column was not selected.
+   * @throws SQLException If the column could not be read.
+   */
+  private static String getString(ResultSet resultSet, int column) throws SQLException {
+    return (column == 0) ? null : resultSet.getString(column);
+  }
+
+  /**
+   * Reads an optional decimal column.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @param column    The column index, or 0 if the column was not selected.
+   * @return          The value, or null if the column was not selected.
+   * @throws SQLException If the column could not be read.
+   */
+  private static BigDecimal getBigDecimal(ResultSet resultSet, int column) throws SQLException {
+    return (column == 0) ? null : resultSet.getBigDecimal(column);
+  }
+
+  /**
+   * Reads an optional date column.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @param column    The column index, or 0 if the column was not selected.
+   * @return          The value, or null if the column was not selected.
+   * @throws SQLException If the column could not be read.
+   */
+  private static Date getDate(ResultSet resultSet, int column) throws SQLException {
+    return (column == 0) ? null : resultSet.getDate(column);
+  }
+}
@@ -0,0 +1,110 @@
+package database;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the results of read queries, keyed by their normalised SQL and parameters.
+ *
+ * Each entry remembers the tables its query reads from, and any write to one of those
+ * tables through {@link DatabaseManager} invalidates it. The foreign keys of the projects table
+ * cascade deletes of people into it, so a write to a role table counts as a write to projects too.
+ * Queries that use CURRENT_DATE are also keyed by today's date, so their results are not reused
+ * after midnight.
+ */
+class QueryCache {
+  // Cache settings, overridable with -Dpoisepms.queryCache.<setting>=<value>
+  private static final int MAX_SIZE = Integer.getInteger("poisepms.queryCache.maxSize", 200);
+  private static final long TIME_TO_LIVE_MILLIS = Long.getLong("poisepms.queryCache.ttlMillis", 60_000L);
+
+  private static final Pattern READ_TABLES = Pattern.compile("\\b(?:FROM|JOIN)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern WRITE_TABLE = Pattern.compile(
+    "^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+  // Tables whose deletes change projects through ON DELETE CASCADE / SET NULL
+  private static final Set<String> ROLE_TABLES = Set.of("engineers", "managers", "architects", "contractors", "customers");
+  private static final String PROJECTS_TABLE = "projects";
+
+  private static final Cache<Key, List<?>> CACHE = new Cache<>("queries", MAX_SIZE, TIME_TO_LIVE_MILLIS);
+
+  /**
+   * Identifies a cached result.
+   *
+   * @param sql        The normalised SQL text.
+   * @param parameters The bound parameters.
+   * @param day        The date the result is valid for, or null if it does not depend on the date.
+   * @param tables     The lower-case names of the tables the query reads.
+   */
+  private record Key(String sql, List<Object> parameters, LocalDate day, Set<String> tables) {
+  }
+
+  private QueryCache() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Returns the cached result of a query, running it on a miss.
+   *
+   * @param sql        The SQL query.
+   * @param parameters The parameters bound to the query.
+   * @param loader     Runs the query, returning null if it fails.
+   * @param <T>        The type of the result rows.
+   * @return           The (unmodifiable) result rows, empty if the query fails. Failed results are
+   *                   not cached, so the next read tries the database again.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> List<T> get(String sql, Object[] parameters, Supplier<List<T>> loader) {
+    String normalised = sql.strip().replaceAll("\\s+", " ");
+    LocalDate day = normalised.toUpperCase().contains("CURRENT_DATE") ? LocalDate.now() : null;
+    Key key = new Key(normalised, Arrays.asList(parameters), day, tablesReadBy(normalised));
+
+    List<?> rows = CACHE.get(key, ignored -> {
+      List<T> loaded = loader.get();
+      return (loaded == null) ? null : List.copyOf(loaded);
+    });
+    return (rows == null) ? List.of() : (List<T>) rows;
+  }
+
+  /**
+   * Invalidates every cached result that reads from the table a write statement changes.
+   * Writes to a role table also invalidate results that read projects, and statements whose
+   * table cannot be determined invalidate everything.
+   *
+   * @param sql The INSERT, UPDATE or DELETE statement that was executed.
+   */
+  static void invalidateWritesOf(String sql) {
+    Matcher matcher = WRITE_TABLE.matcher(sql);
+    if (matcher.find()) {
+      String table = matcher.group(1).toLowerCase();
+      boolean cascades = ROLE_TABLES.contains(table);
+      CACHE.invalidateIf(key -> key.tables().contains(table) || (cascades && key.tables().contains(PROJECTS_TABLE)));
+    } else {
+      CACHE.invalidateAll();
+    }
+  }
+
+  /**
+   * @return The counters of the query cache.
+   */
+  static CacheStats stats() {
+    return CACHE.stats();
+  }
+
+  /**
+   * Finds the tables a query reads from.
+   *
+   * @param sql The SQL query.
+   * @return    The lower-case table names.
+   */
+  private static Set<String> tablesReadBy(String sql) {
+    Set<String> tables = new HashSet<>();
+    Matcher matcher = READ_TABLES.matcher(sql);
+    while (matcher.find()) {
+      tables.add(matcher.group(1).toLowerCase());
+    }
+    return tables;
+  }
+}
@@ -0,0 +1,192 @@
+package database;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the metrics of every statement run through {@link DatabaseManager} and {@link Transaction},
+ * grouped by fingerprint, and publishes them as JMX MBeans.
+ *
+ * A fingerprint is the statement with its literals replaced by "?", its whitespace collapsed and
+ * its IN lists shortened, so statements that differ only in their values share their metrics.
+ * Only the first {@link #MAX_STATEMENTS} fingerprints get metrics and an MBean of their own;
+ * statements seen after that are counted together under {@link #OTHER_FINGERPRINT}, so ad-hoc
+ * SQL cannot grow the metrics or the JMX tree without limit.
+ *
+ * Metrics can be turned off with -Dpoisepms.metrics.enabled=false, and kept out of JMX with
+ * -Dpoisepms.metrics.jmx=false.
+ */
+class QueryMetrics {
+  private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("poisepms.metrics.enabled", "true"));
+  private static final boolean JMX = Boolean.parseBoolean(System.getProperty("poisepms.metrics.jmx", "true"));
+
+  // Statement texts remembered with their metrics, so each text is only fingerprinted once
+  private static final int MAX_REMEMBERED_QUERIES = 10_000;
+
+  // Fingerprints tracked on their own (-Dpoisepms.metrics.maxStatements), and the one the rest share
+  private static final int MAX_STATEMENTS = Integer.getInteger("poisepms.metrics.maxStatements", 500);
+  static final String OTHER_FINGERPRINT = "(other statements)";
+
+  // Patterns applied in order to normalise a statement into its fingerprint
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN ?\\( ?\\?(?: ?, ?\\?)* ?\\)");
+
+  private static final StatementMetrics DISABLED = new StatementMetrics("", false);
+  private static final Map<String, StatementMetrics> BY_QUERY = new ConcurrentHashMap<>();
+  private static final Map<String, StatementMetrics> BY_FINGERPRINT = new ConcurrentHashMap<>();
+
+  static {
+    if (ENABLED && JMX) {
+      register("poisepms:type=Database", new DatabaseMetrics());
+    }
+  }
+
+  /**
+   * The totals published under poisepms:type=Database.
+   */
+  private static class DatabaseMetrics implements DatabaseMetricsMXBean {
+    @Override
+    public int getStatementCount() {
+      return BY_FINGERPRINT.size();
+    }
+
+    @Override
+    public long getCalls() {
+      return BY_FINGERPRINT.values().stream().mapToLong(StatementMetrics::getCalls).sum();
+    }
+
+    @Override
+    public long getErrors() {
+      return BY_FINGERPRINT.values().stream().mapToLong(StatementMetrics::getErrors).sum();
+    }
+
+    @Override
+    public long getRows() {
+      return BY_FINGERPRINT.values().stream().mapToLong(StatementMetrics::getRows).sum();
+    }
+
+    @Override
+    public double getStatementCacheHitRate() {
+      return StatementCache.stats().hitRate();
+    }
+
+    @Override
+    public double getQueryCacheHitRate() {
+      return QueryCache.stats().hitRate();
+    }
+
+    @Override
+    public double getProjectCacheHitRate() {
+      return ProjectCache.stats().hitRate();
+    }
+
+    @Override
+    public void reset() {
+      QueryMetrics.reset();
+    }
+  }
+
+  private QueryMetrics() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Finds the metrics of a statement, creating and publishing them the first time its fingerprint is seen.
+   * Once {@link #MAX_STATEMENTS} fingerprints are tracked, new ones share the metrics of
+   * {@link #OTHER_FINGERPRINT}.
+   *
+   * @param query The SQL statement.
+   * @return      The metrics of the statement's fingerprint, or metrics that record nothing if metrics are off.
+   */
+  static StatementMetrics of(String query) {
+    if (!ENABLED) {
+      return DISABLED;
+    }
+
+    StatementMetrics metrics = BY_QUERY.get(query);
+    if (metrics == null) {
+      String fingerprint = fingerprint(query);
+      metrics = BY_FINGERPRINT.get(fingerprint);
+      if (metrics == null) {
+        // Concurrent first sightings may overshoot the limit slightly, which is harmless
+        metrics = BY_FINGERPRINT.computeIfAbsent(
+          (BY_FINGERPRINT.size() < MAX_STATEMENTS) ? fingerprint : OTHER_FINGERPRINT, QueryMetrics::create);
+      }
+      if (BY_QUERY.size() < MAX_REMEMBERED_QUERIES) {
+        BY_QUERY.put(query, metrics);
+      }
+    }
+    return metrics;
+  }
+
+  /**
+   * @return A snapshot of the metrics of every statement, the most time spent executing first.
+   */
+  static List<StatementStats> stats() {
+    return BY_FINGERPRINT.values().stream()
+      .map(StatementMetrics::snapshot)
+      .sorted(Comparator.comparingDouble(StatementStats::totalExecuteNanos).reversed())
+      .toList();
+  }
+
+  /**
+   * Clears the metrics of every statement.
+   */
+  static void reset() {
+    BY_FINGERPRINT.values().forEach(StatementMetrics::reset);
+  }
+
+  /**
+   * Normalises a statement so that statements differing only in their values look the same.
+   *
+   * @param query The SQL statement.
+   * @return      The fingerprint of the statement.
+   */
+  static String fingerprint(String query) {
+    String fingerprint = STRING_LITERAL.matcher(query).replaceAll("?");
+    fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+    fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").strip();
+    return IN_LIST.matcher(fingerprint).replaceAll("IN (...)");
+  }
+
+  /**
+   * Creates the metrics of a new fingerprint and publishes them.
+   *
+   * @param fingerprint The fingerprint.
+   * @return            The metrics.
+   */
+  private static StatementMetrics create(String fingerprint) {
+    StatementMetrics metrics = new StatementMetrics(fingerprint, true);
+    if (JMX) {
+      register("poisepms:type=Statement,name=" + ObjectName.quote(fingerprint), metrics);
+    }
+    return metrics;
+  }
+
+  /**
+   * Publishes an MBean on the platform MBean server. Failures are printed and otherwise ignored.
+   *
+   * @param name  The object name.
+   * @param mbean The MBean.
+   */
+  private static void register(String name, Object mbean) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(name);
+      if (!server.isRegistered(objectName)) {
+        server.registerMBean(mbean, objectName);
+      }
+    } catch (JMException e) {
+      e.printStackTrace();
+    }
+  }
+}
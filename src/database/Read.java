@@ -2,95 +2,288 @@ package database;
 
 import records.*;
 
-import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * This class manages the reading of records from the database.
  */
 public class Read {
 
+  // Roles joined onto each project, in the order their columns are selected
+  private static final String[] PROJECT_ROLES = {"Engineer", "Manager", "Architect", "Contractor", "Customer"};
+
+  // Person columns fetched for every joined role, aliased as <Role><Column>
+  private static final String[] PERSON_COLUMNS = {"Name", "TelephoneNumber", "EmailAddress", "PhysicalAddress"};
+
+  // People kept per role while streaming projects, configurable with -Dpoisepms.stream.peoplePerRole
+  private static final int STREAM_PEOPLE_PER_ROLE = Math.max(1, Integer.getInteger("poisepms.stream.peoplePerRole", 1000));
+
+  // Project columns behind each field name understood by DisplayProjects.displayProjectsTable
+  private static final Map<String, String> PROJECT_FIELD_COLUMNS = Map.ofEntries(
+    Map.entry("Project Name", "ProjectName"),
+    Map.entry("Building Type", "BuildingType"),
+    Map.entry("Physical Address", "PhysicalAddress"),
+    Map.entry("ERF No.", "ERFNumber"),
+    Map.entry("Total Fee", "TotalFee"),
+    Map.entry("Paid", "AmountPaidToDate"),
+    Map.entry("Start Date", "StartDate"),
+    Map.entry("Deadline", "Deadline"),
+    Map.entry("Finalised", "Finalised"),
+    Map.entry("Completion", "CompletionDate")
+  );
+
+  /**
+   * Reads the projects matching the given criteria from the database.
+   *
+   * The projects and all of their people are read in a single query by joining
+   * the role tables onto the matching projects. Results are served from the query
+   * cache until the projects or role tables are written to.
+   *
+   * A projection can be given using the field names understood by
+   * {@link utils.outputs.DisplayProjects#displayProjectsTable}, in which case only those
+   * columns are read and only the named roles are joined. Unread fields are left null, and
+   * people in roles that were not named only carry their ID.
+   *
+   * @param criteria The criteria to filter the projects.
+   * @param fields   The fields to read (e.g., "Project Name", "Customer"). If none are given, all fields are read.
+   * @return         An unmodifiable list of Project objects matching the criteria.
+   */
+  public static List<Project> readProjects(ProjectCriteria criteria, String... fields) {
+    String query = buildProjectQuery(criteria, fields);
+    Object[] parameters = criteria.parameters();
+    return QueryCache.get(query, parameters, () -> DatabaseManager.tryQuery(query, ProjectRowMapper::new, parameters));
+  }
+
+  /**
+   * Reads the page of matching projects that follows the given project number.
+   *
+   * @param criteria      The criteria to filter the projects.
+   * @param projectNumber The project number to read after, or 0 to read the first page.
+   * @param pageSize      The maximum number of projects on the page.
+   * @param fields        The fields to read, as for {@link #readProjects(ProjectCriteria, String...)}.
+   * @return              The page of projects.
+   */
+  public static ProjectPage readProjectsAfter(
+    ProjectCriteria criteria, int projectNumber, int pageSize, String... fields) {
+
+    List<Project> projects = readProjectPage(criteria, "ProjectNumber > ?", projectNumber, pageSize, fields);
+    boolean hasNext = projects.size() > pageSize;
+    if (hasNext) {
+      projects = projects.subList(0, pageSize);
+    }
+    return new ProjectPage(projects, projectNumber > 0, hasNext);
+  }
+
+  /**
+   * Reads the page of matching projects that precedes the given project number.
+   *
+   * @param criteria      The criteria to filter the projects.
+   * @param projectNumber The project number to read before.
+   * @param pageSize      The maximum number of projects on the page.
+   * @param fields        The fields to read, as for {@link #readProjects(ProjectCriteria, String...)}.
+   * @return              The page of projects, in ascending project number order.
+   */
+  public static ProjectPage readProjectsBefore(
+    ProjectCriteria criteria, int projectNumber, int pageSize, String... fields) {
+
+    // Read backwards from the key, then put the page back into ascending order
+    List<Project> projects = readProjectPage(criteria, "ProjectNumber < ?", projectNumber, pageSize, fields);
+    boolean hasPrevious = projects.size() > pageSize;
+    if (hasPrevious) {
+      projects = projects.subList(0, pageSize);
+    }
+    return new ProjectPage(projects.reversed(), hasPrevious, true);
+  }
+
+  /**
+   * Retrieves a project by its project number.
+   * Projects are served from the project cache, which is filled from the database on a miss.
+   *
+   * @param projectNumber The project number.
+   * @return              The Project object, or null if not found.
+   */
+  public static Project getProject(int projectNumber) {
+    return ProjectCache.get(projectNumber, number -> {
+      List<Project> projects = readProjects(ProjectCriteria.all().projectNumber(number));
+      return projects.isEmpty() ? null : projects.getFirst();
+    });
+  }
+
+  /**
+   * Returns the hit rate and size of the project query result cache.
+   *
+   * @return The counters of the query cache.
+   */
+  public static CacheStats queryCacheStats() {
+    return QueryCache.stats();
+  }
+
+  /**
+   * Returns the hit rate and size of the project cache.
+   *
+   * @return The counters of the project cache.
+   */
+  public static CacheStats projectCacheStats() {
+    return ProjectCache.stats();
+  }
+
+  /**
+   * Streams the projects matching the given criteria from the database, passing each
+   * project to an action as soon as its row is read.
+   *
+   * Unlike {@link #readProjects(ProjectCriteria, String...)} no list of projects is built, and
+   * only the most recently seen people of each role are shared between projects, so memory use
+   * stays constant no matter how many projects and people match.
+   *
+   * @param action   The action to perform on each project.
+   * @param criteria The criteria to filter the projects.
+   * @param fields   The fields to read, as for {@link #readProjects(ProjectCriteria, String...)}.
+   * @return         The number of projects read, or -1 if an error occurs.
+   */
+  public static long streamProjects(Consumer<Project> action, ProjectCriteria criteria, String... fields) {
+    return DatabaseManager.stream(
+      buildProjectQuery(criteria, fields),
+      resultSet -> new ProjectRowMapper(resultSet, new PersonResolver(STREAM_PEOPLE_PER_ROLE)),
+      action,
+      criteria.parameters());
+  }
+
+  /**
+   * Reads one more project than fits on a page, starting from a project number.
+   * The extra project tells whether there is another page in the same direction.
+   *
+   * @param criteria      The criteria to filter the projects.
+   * @param keyset        The condition on ProjectNumber, "ProjectNumber > ?" to read forwards
+   *                      or "ProjectNumber < ?" to read backwards.
+   * @param projectNumber The project number to start from.
+   * @param pageSize      The maximum number of projects on the page.
+   * @param fields        The fields to read.
+   * @return              Up to pageSize + 1 projects, ordered in the direction of reading.
+   */
+  private static List<Project> readProjectPage(
+    ProjectCriteria criteria, String keyset, int projectNumber, int pageSize, String... fields) {
+
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Invalid page size: " + pageSize);
+    }
+    String order = keyset.contains("<") ? "DESC" : "ASC";
+    String query = buildProjectQuery(
+      "(" + criteria.toSql() + ") AND " + keyset + " ORDER BY ProjectNumber " + order + " LIMIT ?",
+      "p.ProjectNumber " + order, fields);
+
+    List<Object> parameters = new ArrayList<>(List.of(criteria.parameters()));
+    parameters.add(projectNumber);
+    parameters.add(pageSize + 1);
+    Object[] values = parameters.toArray();
+    return QueryCache.get(query, values, () -> DatabaseManager.tryQuery(query, ProjectRowMapper::new, values));
+  }
+
+  /**
+   * Builds the query that reads matching projects together with their people.
+   *
+   * The criteria are applied to the projects table on its own, so unqualified column
+   * names such as "EngineerID" or "PhysicalAddress" keep referring to the project.
+   *
+   * @param criteria The criteria to filter the projects.
+   * @param fields   The fields to read. If none are given, all fields are read.
+   * @return         The SQL query, with a placeholder for each criteria parameter.
+   */
+  private static String buildProjectQuery(ProjectCriteria criteria, String... fields) {
+    return buildProjectQuery(criteria.toSql(), "p.ProjectNumber", fields);
+  }
+
   /**
-   * Reads projects from the database based on specified conditions.
+   * Builds the query that reads the projects matching a WHERE clause together with their people.
    *
-   * @param chainBy    The logical operator (e.g., "AND", "OR") to chain conditions.
-   * @param conditions The conditions to filter the projects.
-   * @return           A list of Project objects matching the conditions.
+   * @param where   The WHERE clause applied to the projects table, which may end in ORDER BY and LIMIT.
+   * @param orderBy The ORDER BY clause of the outer query.
+   * @param fields  The fields to read. If none are given, all fields are read.
+   * @return        The SQL query.
    */
-  public static List<Project> readProjects(String chainBy, String... conditions) {
-    StringBuilder query = new StringBuilder("SELECT * FROM projects WHERE ");
-
-    // Build the WHERE conditions dynamically
-    for (int i = 0; i < conditions.length; i++) {
-      if (i == 0) {
-        query.append(conditions[i]);
-      } else {
-        query.append(" ").append(chainBy).append(" ").append(conditions[i]);
+  private static String buildProjectQuery(String where, String orderBy, String... fields) {
+    // Work out which project columns to read and which roles to join
+    String projectColumns = "*";
+    List<String> joinedRoles = List.of(PROJECT_ROLES);
+    if (fields.length > 0) {
+      Set<String> columns = new LinkedHashSet<>();
+      columns.add("ProjectNumber");
+      for (String role : PROJECT_ROLES) {
+        columns.add(role + "ID");  // Kept so unjoined roles can still be referenced by ID
+      }
+
+      List<String> fieldList = List.of(fields);
+      joinedRoles = new ArrayList<>();
+      for (String role : PROJECT_ROLES) {
+        if (fieldList.contains(role)) {
+          joinedRoles.add(role);
+        }
+      }
+      for (String field : fields) {
+        if (PROJECT_FIELD_COLUMNS.containsKey(field)) {
+          columns.add(PROJECT_FIELD_COLUMNS.get(field));
+        }
       }
+      projectColumns = String.join(", ", columns);
     }
 
-    // Execute the query and get the result list
-    List<Map<String, Object>> results = DatabaseManager.executeQuery(query.toString());
+    StringBuilder query = new StringBuilder("SELECT p.*");
+    for (String role : joinedRoles) {
+      String alias = role.toLowerCase();
+      for (String column : PERSON_COLUMNS) {
+        query.append(", ").append(alias).append(".").append(column)
+          .append(" AS ").append(role).append(column);
+      }
+    }
 
-    // If no results are found, return an empty list
-    if (results.isEmpty()) {
-      return new ArrayList<>();
+    query.append(" FROM (SELECT ").append(projectColumns)
+      .append(" FROM projects WHERE ").append(where).append(") p");
+    for (String role : joinedRoles) {
+      String alias = role.toLowerCase();
+      query.append(" LEFT JOIN ").append(alias).append("s ").append(alias)
+        .append(" ON ").append(alias).append(".").append(role).append("ID = p.").append(role).append("ID");
     }
 
-    // List to store the Project objects
-    List<Project> projects = new ArrayList<>();
-
-    // Loop through the results and map each one to a Project object
-    for (Map<String, Object> result : results) {
-      // Map the result set to Project object
-      int projectNumber = (int) result.get("ProjectNumber");
-      String projectName = (String) result.get("ProjectName");
-      String buildingType = (String) result.get("BuildingType");
-      String physicalAddress = (String) result.get("PhysicalAddress");
-      String erfNumber = (String) result.get("ERFNumber");
-      BigDecimal totalFee = (BigDecimal) result.get("TotalFee");
-      BigDecimal amountPaidToDate = (BigDecimal) result.get("AmountPaidToDate");
-      Date startDate = (Date) result.get("StartDate");
-      Date deadline = (Date) result.get("Deadline");
-      boolean finalised = (Boolean) result.get("Finalised");
-      Date completeDate = (Date) result.get("CompletionDate");
-
-      // Get related entities (Engineer, Manager, Architect, Contractor, Customer)
-      Engineer engineer = getEngineer((Integer) result.get("EngineerID"));
-      Manager manager = getManager((Integer) result.get("ManagerID"));
-      Architect architect = getArchitect((Integer) result.get("ArchitectID"));
-      Contractor contractor = getContractor((Integer) result.get("ContractorID"));
-      Customer customer = getCustomer((Integer) result.get("CustomerID"));
-
-      // Create the Project object and add it to the list
-      Project project = new Project(
-        projectNumber,
-        projectName,
-        buildingType,
-        physicalAddress,
-        erfNumber,
-        totalFee,
-        amountPaidToDate,
-        startDate,
-        deadline,
-        finalised,
-        completeDate,
-        engineer,
-        manager,
-        architect,
-        contractor,
-        customer
-      );
-
-      projects.add(project);
+    return query.append(" ORDER BY ").append(orderBy).toString();
+  }
+
+  /**
+   * Creates a person of the given class type.
+   *
+   * @param clazz           The class type of the person to be created.
+   * @param id              The ID of the person.
+   * @param name            The name of the person.
+   * @param telephoneNumber The telephone number of the person.
+   * @param emailAddress    The email address of the person.
+   * @param physicalAddress The physical address of the person.
+   * @param <T>             The type of person (Engineer, Manager, Architect, Contractor, or Customer).
+   * @return                An instance of the specified class, or null if the class is not a known role.
+   */
+  public static <T> T createPerson(
+    Class<T> clazz, int id, String name, String telephoneNumber, String emailAddress, String physicalAddress) {
+
+    if (Engineer.class.isAssignableFrom(clazz)) {
+      return clazz.cast(new Engineer(id, name, telephoneNumber, emailAddress, physicalAddress));
+    }
+    else if (Manager.class.isAssignableFrom(clazz)) {
+      return clazz.cast(new Manager(id, name, telephoneNumber, emailAddress, physicalAddress));
+    }
+    else if (Architect.class.isAssignableFrom(clazz)) {
+      return clazz.cast(new Architect(id, name, telephoneNumber, emailAddress, physicalAddress));
+    }
+    else if (Contractor.class.isAssignableFrom(clazz)) {
+      return clazz.cast(new Contractor(id, name, telephoneNumber, emailAddress, physicalAddress));
+    }
+    else if (Customer.class.isAssignableFrom(clazz)) {
+      return clazz.cast(new Customer(id, name, telephoneNumber, emailAddress, physicalAddress));
     }
 
-    // Return the list of Project objects
-    return projects;
+    return null;
   }
 
   /**
    * Retrieves a person from the specified table based on their ID.
+   * People are served from the person cache, which is filled from the database on a miss.
    *
    * @param tableName The name of the database table.
    * @param idColumn  The name of the ID column in the table.
@@ -99,36 +292,27 @@ public class Read {
    * @param <T>       The type of person (Engineer, Manager, Architect, Contractor, or Customer).
    * @return          An instance of the specified class, or null if not found.
    */
-  private static <T> T getPersonById(String tableName, String idColumn, Integer id, Class<T> clazz) {
-    String query = "SELECT * FROM " + tableName + " WHERE " + idColumn + " = ?";
-    List<Map<String, Object>> results = DatabaseManager.executeQuery(query, String.valueOf(id));
-
-    // If exactly one record is found
-    if (results.size() == 1) {
-      Map<String, Object> result = results.getFirst();
-      String name = (String) result.get("Name");
-      String telephoneNumber = (String) result.get("TelephoneNumber");
-      String emailAddress = (String) result.get("EmailAddress");
-      String physicalAddress = (String) result.get("PhysicalAddress");
-
-      if (Engineer.class.isAssignableFrom(clazz)) {
-        return clazz.cast(new Engineer(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (Manager.class.isAssignableFrom(clazz)) {
-        return clazz.cast(new Manager(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (Architect.class.isAssignableFrom(clazz)) {
-        return clazz.cast(new Architect(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (Contractor.class.isAssignableFrom(clazz)) {
-        return clazz.cast(new Contractor(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (Customer.class.isAssignableFrom(clazz)) {
-        return clazz.cast(new Customer(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
+  private static <T extends Person> T getPersonById(String tableName, String idColumn, Integer id, Class<T> clazz) {
+    if (id == null) {
+      return null;
     }
 
-    return null;
+    String query = "SELECT * FROM " + tableName + " WHERE " + idColumn + " = ?";
+    return PersonCache.get(clazz, id, personID -> {
+      List<T> results = DatabaseManager.query(query, PersonRowMapper.forTable(clazz, new PersonResolver()), personID);
+
+      // If exactly one record is found
+      return (results.size() == 1) ? results.getFirst() : null;
+    });
+  }
+
+  /**
+   * Returns the hit rate and size of the person cache of every role.
+   *
+   * @return The counters of each role's cache.
+   */
+  public static List<CacheStats> personCacheStats() {
+    return PersonCache.stats();
   }
 
   /**
@@ -181,6 +365,62 @@ public class Read {
     return getPersonById("customers", "CustomerID", customerID, Customer.class);
   }
 
+  /**
+   * Retrieves several persons of a specific type with a single query.
+   *
+   * @param clazz The class type of the persons to retrieve.
+   * @param ids   The IDs of the persons to retrieve. Null IDs are ignored.
+   * @param <T>   The type of person.
+   * @return      The persons found, keyed by their ID.
+   */
+  public static <T extends Person> Map<Integer, T> getPersonsByIds(Class<T> clazz, Collection<Integer> ids) {
+    PersonResolver resolver = new PersonResolver();
+    ids.forEach(id -> resolver.request(clazz, id));
+    resolver.fetchPending();
+
+    Map<Integer, T> persons = new LinkedHashMap<>();
+    for (Integer id : ids) {
+      T person = resolver.get(clazz, id);
+      if (person != null) {
+        persons.put(id, person);
+      }
+    }
+    return persons;
+  }
+
+  /**
+   * Finds a person of a specific type by their ID using the table's primary key.
+   *
+   * @param clazz The class type of the person to find.
+   * @param id    The ID of the person.
+   * @return      A list containing the person, or an empty list if not found.
+   */
+  public static List<? extends Person> findPersonById(Class<? extends Person> clazz, int id) {
+    Person person = getPersonById(
+      clazz.getSimpleName().toLowerCase() + "s", clazz.getSimpleName() + "ID", id, clazz);
+    return (person == null) ? Collections.emptyList() : List.of(person);
+  }
+
+  /**
+   * Finds persons of a specific type whose name matches the given text, ordered by name.
+   *
+   * A prefix search can use an index on the Name column, a contains search has to scan it.
+   *
+   * @param clazz      The class type of the persons to find.
+   * @param name       The text to search for. LIKE wildcards in it are matched literally.
+   * @param prefixOnly True to only match names starting with the text, false to match names containing it.
+   * @param limit      The maximum number of persons to return.
+   * @return           A list of at most {@code limit} matching persons.
+   */
+  public static List<? extends Person> findPersonsByName(
+    Class<? extends Person> clazz, String name, boolean prefixOnly, int limit) {
+
+    String pattern = (prefixOnly ? "" : "%") + DatabaseManager.escapeLike(name) + "%";
+    String query = "SELECT * FROM " + clazz.getSimpleName().toLowerCase() + "s"
+      + " WHERE Name LIKE ? ORDER BY Name LIMIT ?";
+    return DatabaseManager.query(query, PersonRowMapper.forTable(clazz, new PersonResolver()), pattern, limit);
+  }
+
   /**
    * Retrieves all persons of a specific type, optionally excluding specific IDs.
    *
@@ -215,49 +455,32 @@ public class Read {
       return Collections.emptyList();
     }
 
+    return getAllPersons(clazz, tableName, idName, excludedPersonIDs);
+  }
+
+  /**
+   * Retrieves all persons from a role table, optionally excluding specific IDs.
+   *
+   * @param clazz              The class type of the persons to retrieve.
+   * @param tableName          The name of the database table.
+   * @param idName             The name of the ID column in the table.
+   * @param excludedPersonIDs  A list of person IDs to exclude from the results.
+   * @param <T>                The type of person.
+   * @return                   A list of persons matching the specified class type.
+   */
+  private static <T extends Person> List<T> getAllPersons(
+    Class<T> clazz, String tableName, String idName, List<Integer> excludedPersonIDs) {
+
     String query = "SELECT * FROM " + tableName;
+    RowMapper.Factory<T> mapper = PersonRowMapper.forTable(clazz, new PersonResolver());
 
     // Exclude specific IDs if provided
-    List<Map<String, Object>> results;
     if (!excludedPersonIDs.isEmpty()) {
       String placeholders = String.join(",", Collections.nCopies(excludedPersonIDs.size(), "?"));
       query += " WHERE " + idName + " NOT IN (" + placeholders + ")";
-      results = DatabaseManager.executeQuery(query, excludedPersonIDs.toArray());
-    } else {
-      results = DatabaseManager.executeQuery(query);
+      return DatabaseManager.query(query, mapper, excludedPersonIDs.toArray());
     }
 
-    List<Person> persons = new ArrayList<>();
-
-    for (Map<String, Object> result : results) {
-      int id = (int) result.get(idName);
-      String name = (String) result.get("Name");
-      String telephoneNumber = (String) result.get("TelephoneNumber");
-      String emailAddress = (String) result.get("EmailAddress");
-      String physicalAddress = (String) result.get("PhysicalAddress");
-
-      Person person = null;
-      if (clazz == Engineer.class) {
-        person = clazz.cast(new Engineer(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (clazz == Manager.class) {
-        person = clazz.cast(new Manager(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (clazz == Architect.class) {
-        person = clazz.cast(new Architect(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else if (clazz == Contractor.class) {
-        person = clazz.cast(new Contractor(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-      else { //if (clazz == Customer.class)
-        person = clazz.cast(new Customer(id, name, telephoneNumber, emailAddress, physicalAddress));
-      }
-
-      persons.add(person);
-    }
-
-    return persons;
+    return DatabaseManager.query(query, mapper);
   }
-
-
 }
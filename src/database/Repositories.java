@@ -0,0 +1,64 @@
+package database;
+
+/**
+ * Holds the repositories the program stores its projects and people in.
+ *
+ * MySQL is used by default. Run with -Dpoisepms.repository=memory to keep everything in memory
+ * instead, which needs no database server and loses all data on exit.
+ */
+public class Repositories {
+  private static volatile ProjectRepository projects;
+  private static volatile PersonRepository persons;
+
+  static {
+    if (System.getProperty("poisepms.repository", "jdbc").equalsIgnoreCase("memory")) {
+      useInMemory();
+    } else {
+      use(new JdbcProjectRepository(), new JdbcPersonRepository());
+    }
+  }
+
+  private Repositories() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * @return The repository of projects.
+   */
+  public static ProjectRepository projects() {
+    return projects;
+  }
+
+  /**
+   * @return The repository of people.
+   */
+  public static PersonRepository persons() {
+    return persons;
+  }
+
+  /**
+   * @return True if projects are kept in memory, so the database is not used.
+   */
+  public static boolean isInMemory() {
+    return projects instanceof InMemoryProjectRepository;
+  }
+
+  /**
+   * Replaces the repositories, for instance to run a benchmark against another store.
+   *
+   * @param projectRepository The repository of projects.
+   * @param personRepository  The repository of people.
+   */
+  public static synchronized void use(ProjectRepository projectRepository, PersonRepository personRepository) {
+    projects = projectRepository;
+    persons = personRepository;
+  }
+
+  /**
+   * Replaces the repositories with new, empty in-memory ones.
+   */
+  public static synchronized void useInMemory() {
+    InMemoryPersonRepository personRepository = new InMemoryPersonRepository();
+    use(new InMemoryProjectRepository(personRepository), personRepository);
+  }
+}
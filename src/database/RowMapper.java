@@ -0,0 +1,64 @@
+package database;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the current row of a result set to an object.
+ *
+ * A mapper is created once per result set by its {@link Factory}, which is where column
+ * indexes should be looked up, so that mapping each row only calls the typed
+ * ResultSet getters.
+ *
+ * @param <T> The type of object each row is mapped to.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+  /**
+   * Maps the row the result set is currently positioned on.
+   *
+   * @param resultSet The result set, positioned on a row.
+   * @return          The mapped object.
+   * @throws SQLException If a column could not be read.
+   */
+  T mapRow(ResultSet resultSet) throws SQLException;
+
+  /**
+   * Looks up the index of every column in a result set by its label.
+   * Useful for mappers whose columns are optional, where ResultSet.findColumn would throw.
+   *
+   * @param resultSet The result set.
+   * @return          The 1-based column indexes keyed by column label. The first column wins on duplicates.
+   * @throws SQLException If the metadata could not be read.
+   */
+  static Map<String, Integer> columnIndexes(ResultSet resultSet) throws SQLException {
+    ResultSetMetaData metaData = resultSet.getMetaData();
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = metaData.getColumnCount(); i >= 1; i--) {
+      columns.put(metaData.getColumnLabel(i), i);
+    }
+    return columns;
+  }
+
+  /**
+   * Creates a row mapper for a specific result set.
+   *
+   * @param <T> The type of object each row is mapped to.
+   */
+  @FunctionalInterface
+  interface Factory<T> {
+
+    /**
+     * Creates a mapper for the given result set, before its first row is read.
+     *
+     * @param resultSet The result set the mapper will read.
+     * @return          The row mapper.
+     * @throws SQLException If the result set is missing a column the mapper needs.
+     */
+    RowMapper<T> create(ResultSet resultSet) throws SQLException;
+  }
+}
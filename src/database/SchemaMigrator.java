@@ -0,0 +1,220 @@
+package database;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Brings the database schema up to date and checks that the hot queries can use its indexes.
+ *
+ * The version of the schema is recorded in the schema_version table, one row per applied
+ * migration. Migrations newer than the recorded version are applied in order on startup.
+ * MySQL commits DDL implicitly, so each migration is recorded as soon as its statements succeed
+ * and a failed migration stops the run without recording it. Indexes that already exist are not
+ * created again, so a migration that failed part way through can be re-run on the next start.
+ */
+class SchemaMigrator {
+  // Serialises migrations when several instances of the program start at once
+  private static final String LOCK_NAME = "PoisePMS.schema_migration";
+  private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+  // Matches "CREATE INDEX <index> ON <table>", to skip indexes left behind by a failed run
+  private static final Pattern CREATE_INDEX = Pattern.compile(
+    "^\\s*CREATE\\s+INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+  private static final String[] ROLES = {"Engineer", "Manager", "Architect", "Contractor", "Customer"};
+
+  // Every migration, in version order. Never edit a migration once released, add a new one instead.
+  private static final List<Migration> MIGRATIONS = List.of(
+    new Migration(1, "Index projects by finalised status and deadline", List.of(
+      "CREATE INDEX idx_projects_finalised_deadline ON projects (Finalised, Deadline)"
+    )),
+    new Migration(2, "Index the role columns of projects", List.of(
+      "CREATE INDEX idx_projects_engineer ON projects (EngineerID)",
+      "CREATE INDEX idx_projects_manager ON projects (ManagerID)",
+      "CREATE INDEX idx_projects_architect ON projects (ArchitectID)",
+      "CREATE INDEX idx_projects_contractor ON projects (ContractorID)",
+      "CREATE INDEX idx_projects_customer ON projects (CustomerID)"
+    )),
+    new Migration(3, "Index people by name", List.of(
+      "CREATE INDEX idx_engineers_name ON engineers (Name)",
+      "CREATE INDEX idx_managers_name ON managers (Name)",
+      "CREATE INDEX idx_architects_name ON architects (Name)",
+      "CREATE INDEX idx_contractors_name ON contractors (Name)",
+      "CREATE INDEX idx_customers_name ON customers (Name)"
+    ))
+  );
+
+  private SchemaMigrator() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Applies every migration newer than the recorded schema version.
+   *
+   * @param connection The connection to migrate through.
+   * @return           The schema version after migrating.
+   * @throws SQLException If the schema version could not be read or a migration failed.
+   */
+  static int migrate(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("""
+          CREATE TABLE IF NOT EXISTS schema_version (
+              Version     INT PRIMARY KEY,
+              Description VARCHAR(255) NOT NULL,
+              AppliedOn   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+          )
+        """);
+
+      if (!acquireLock(statement)) {
+        throw new SQLTransientException("Timed out waiting for another instance to finish migrating.");
+      }
+
+      try {
+        int version = currentVersion(statement);
+        for (Migration migration : MIGRATIONS) {
+          if (migration.version() <= version) {
+            continue;
+          }
+          for (String sql : migration.statements()) {
+            if (!alreadyApplied(connection, sql)) {
+              statement.execute(sql);
+            }
+          }
+          recordVersion(connection, migration);
+          version = migration.version();
+          System.out.println("Applied schema migration " + version + ": " + migration.description());
+        }
+        return version;
+      } finally {
+        statement.execute("DO RELEASE_LOCK('" + LOCK_NAME + "')");
+      }
+    }
+  }
+
+  /**
+   * Runs EXPLAIN on the queries behind the project and people listings and reports
+   * those that cannot use the index added for them.
+   *
+   * An index is accepted if the optimiser lists it as a possible key. On very small tables
+   * the optimiser may still prefer a full scan, so the key it chose is reported for information.
+   *
+   * @param connection The connection to explain the queries through.
+   * @return           One line per hot query that cannot use its index. Empty if all of them can.
+   * @throws SQLException If a query could not be explained.
+   */
+  static List<String> checkIndexes(Connection connection) throws SQLException {
+    List<String> problems = new ArrayList<>();
+
+    checkIndex(connection, problems, "idx_projects_finalised_deadline",
+      "SELECT ProjectNumber FROM projects WHERE Finalised = FALSE");
+    checkIndex(connection, problems, "idx_projects_finalised_deadline",
+      "SELECT ProjectNumber FROM projects WHERE Deadline < CURRENT_DATE AND Finalised = FALSE");
+    for (String role : ROLES) {
+      String table = role.toLowerCase() + "s";
+      checkIndex(connection, problems, "idx_projects_" + role.toLowerCase(),
+        "SELECT ProjectNumber FROM projects WHERE " + role + "ID = 1");
+      checkIndex(connection, problems, "idx_" + table + "_name",
+        "SELECT " + role + "ID FROM " + table + " WHERE Name LIKE 'a%'");
+    }
+
+    return problems;
+  }
+
+  /**
+   * Explains a query and records a problem if the expected index is not a possible key.
+   *
+   * @param connection The connection to explain the query through.
+   * @param problems   The list the problem is added to.
+   * @param index      The name of the index the query should be able to use.
+   * @param query      The query to explain.
+   * @throws SQLException If the query could not be explained.
+   */
+  private static void checkIndex(
+    Connection connection, List<String> problems, String index, String query) throws SQLException {
+
+    try (Statement statement = connection.createStatement();
+         ResultSet plan = statement.executeQuery("EXPLAIN " + query)) {
+
+      if (!plan.next()) {
+        return;
+      }
+      String possibleKeys = plan.getString("possible_keys");
+      if (possibleKeys == null || !List.of(possibleKeys.split(",")).contains(index)) {
+        problems.add(query + " cannot use " + index
+          + " (possible keys: " + possibleKeys + ", chosen: " + plan.getString("key") + ")");
+      }
+    }
+  }
+
+  /**
+   * Checks whether a migration statement has already taken effect, which happens when an earlier
+   * run of its migration failed after the statement was committed.
+   *
+   * @param connection The connection to check through.
+   * @param sql        The migration statement.
+   * @return           True if the statement creates an index that already exists.
+   * @throws SQLException If the existing indexes could not be read.
+   */
+  private static boolean alreadyApplied(Connection connection, String sql) throws SQLException {
+    Matcher matcher = CREATE_INDEX.matcher(sql);
+    if (!matcher.find()) {
+      return false;
+    }
+
+    try (PreparedStatement statement = connection.prepareStatement("""
+        SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND LOWER(table_name) = LOWER(?) AND LOWER(index_name) = LOWER(?)
+        LIMIT 1
+      """)) {
+      statement.setString(1, matcher.group(2));
+      statement.setString(2, matcher.group(1));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next();
+      }
+    }
+  }
+
+  /**
+   * @param statement The statement to query through.
+   * @return          The highest recorded schema version, or 0 for a database that has never been migrated.
+   * @throws SQLException If the version could not be read.
+   */
+  private static int currentVersion(Statement statement) throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(Version), 0) FROM schema_version")) {
+      return resultSet.next() ? resultSet.getInt(1) : 0;
+    }
+  }
+
+  /**
+   * Records that a migration has been applied.
+   *
+   * @param connection The connection to record the migration through.
+   * @param migration  The migration that was applied.
+   * @throws SQLException If the version could not be recorded.
+   */
+  private static void recordVersion(Connection connection, Migration migration) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+      "INSERT INTO schema_version (Version, Description) VALUES (?, ?)")) {
+      statement.setInt(1, migration.version());
+      statement.setString(2, migration.description());
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Takes the migration lock, waiting for another instance to release it if necessary.
+   *
+   * @param statement The statement to take the lock through.
+   * @return          True if the lock was taken.
+   * @throws SQLException If the lock could not be requested.
+   */
+  private static boolean acquireLock(Statement statement) throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery(
+      "SELECT GET_LOCK('" + LOCK_NAME + "', " + LOCK_TIMEOUT_SECONDS + ")")) {
+      return resultSet.next() && resultSet.getInt(1) == 1;
+    }
+  }
+}
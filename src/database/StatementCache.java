@@ -0,0 +1,102 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least-recently-used cache of prepared statements for one connection, keyed by SQL text.
+ *
+ * Cached statements stay open for the life of the connection, so repeated queries skip
+ * parsing and planning. Statements evicted from the cache are closed. A connection is only
+ * used by one thread at a time, so the cache itself is not synchronised; the hit and miss
+ * counters are shared by every cache and are safe to read from any thread.
+ */
+class StatementCache {
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder EVICTIONS = new LongAdder();
+
+  private final Connection connection;
+  private final Map<String, PreparedStatement> statements;
+
+  /**
+   * Creates a statement cache for the given connection.
+   *
+   * @param connection The connection that statements are prepared on.
+   * @param maxSize    The number of statements to keep, at least one.
+   */
+  StatementCache(Connection connection, int maxSize) {
+    int capacity = Math.max(1, maxSize);
+    this.connection = connection;
+    this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+        if (size() <= capacity) {
+          return false;
+        }
+        EVICTIONS.increment();
+        close(eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns a prepared statement for the given SQL, reusing a cached one if possible.
+   * The statement must not be closed by the caller.
+   *
+   * @param sql               The SQL text of the statement.
+   * @param autoGeneratedKeys Either Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS.
+   * @return                  A prepared statement with its parameters and batch cleared.
+   * @throws SQLException     If the statement could not be prepared.
+   */
+  PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+    String key = (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS) ? "K:" + sql : sql;
+    PreparedStatement statement = statements.get(key);
+
+    if (statement != null && !statement.isClosed()) {
+      HITS.increment();
+      statement.clearParameters();
+      statement.clearBatch();  // A batch that failed part way through must not run again
+      return statement;
+    }
+
+    MISSES.increment();
+    statement = connection.prepareStatement(sql, autoGeneratedKeys);
+    statements.put(key, statement);
+    return statement;
+  }
+
+  /**
+   * Closes and forgets every cached statement.
+   */
+  void clear() {
+    statements.values().forEach(StatementCache::close);
+    statements.clear();
+  }
+
+  /**
+   * @return The hit, miss and eviction counts of all statement caches.
+   */
+  static StatementCacheStats stats() {
+    return new StatementCacheStats(HITS.sum(), MISSES.sum(), EVICTIONS.sum());
+  }
+
+  /**
+   * Closes a statement, ignoring any errors.
+   *
+   * @param statement The statement to close.
+   */
+  private static void close(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      // The statement is being discarded, nothing else to do
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package database;
+
+/**
+ * A snapshot of the prepared statement cache counters, used to size the cache.
+ *
+ * @param hits      The number of statements served from the cache.
+ * @param misses    The number of statements that had to be prepared.
+ * @param evictions The number of statements closed to make room for others.
+ */
+public record StatementCacheStats(long hits, long misses, long evictions) {
+
+  /**
+   * @return The fraction of statements served from the cache, or 0 if none were requested.
+   */
+  public double hitRate() {
+    long requests = hits + misses;
+    return (requests == 0) ? 0 : (double) hits / requests;
+  }
+}
@@ -0,0 +1,223 @@
+package database;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the timings and counters of one kind of statement.
+ *
+ * Callers take {@link System#nanoTime()} readings at each stage and pass the previous one in;
+ * each method records the time since it and returns the new reading for the next stage.
+ *
+ * The JMX getters share one snapshot for {@link #SNAPSHOT_MAX_AGE_NANOS}, so a console reading
+ * every attribute summarises each histogram once rather than once per attribute.
+ */
+class StatementMetrics implements StatementMetricsMXBean {
+  // How long the JMX getters reuse a snapshot, long enough to cover one read of every attribute
+  private static final long SNAPSHOT_MAX_AGE_NANOS = 1_000_000_000L;
+
+  private final String fingerprint;
+  private final boolean enabled;
+  private final LatencyHistogram acquire = new LatencyHistogram();
+  private final LatencyHistogram execute = new LatencyHistogram();
+  private final LatencyHistogram mapping = new LatencyHistogram();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+
+  // The last snapshot and the reading taken when it was made, for the JMX getters
+  private volatile Snapshot lastSnapshot;
+
+  private record Snapshot(StatementStats stats, long takenAt) {
+  }
+
+  /**
+   * @param fingerprint The normalised statement.
+   * @param enabled     False to ignore everything recorded, when metrics are turned off.
+   */
+  StatementMetrics(String fingerprint, boolean enabled) {
+    this.fingerprint = fingerprint;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records the start of a run of the statement.
+   *
+   * @return The current reading.
+   */
+  long started() {
+    if (enabled) {
+      calls.increment();
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * Records that a connection was borrowed for the run.
+   *
+   * @param since The reading taken when the run started.
+   * @return      The current reading.
+   */
+  long acquired(long since) {
+    long now = System.nanoTime();
+    if (enabled) {
+      acquire.record(now - since);
+    }
+    return now;
+  }
+
+  /**
+   * Records that the statement was prepared, bound and executed.
+   *
+   * @param since The reading taken when the connection was borrowed, or when the run started
+   *              for statements run in a transaction.
+   * @return      The current reading.
+   */
+  long executed(long since) {
+    long now = System.nanoTime();
+    if (enabled) {
+      execute.record(now - since);
+    }
+    return now;
+  }
+
+  /**
+   * Records that the rows of the result were read.
+   *
+   * @param since The reading taken when the statement was executed.
+   * @param count The number of rows read.
+   */
+  void mapped(long since, long count) {
+    if (enabled) {
+      mapping.record(System.nanoTime() - since);
+      rows.add(count);
+    }
+  }
+
+  /**
+   * Records that the rows of a streamed result were read. The time is measured by the caller
+   * and covers only fetching and mapping the rows, not what the consumer does with them.
+   *
+   * @param nanos The time spent fetching and mapping the rows, in nanoseconds.
+   * @param count The number of rows read.
+   */
+  void streamed(long nanos, long count) {
+    if (enabled) {
+      mapping.record(nanos);
+      rows.add(count);
+    }
+  }
+
+  /**
+   * Records the number of rows written by an update.
+   *
+   * @param count The number of affected rows.
+   */
+  void affected(long count) {
+    if (enabled) {
+      rows.add(count);
+    }
+  }
+
+  /**
+   * Records a failed run of the statement.
+   */
+  void failed() {
+    if (enabled) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * @return A snapshot of the metrics.
+   */
+  StatementStats snapshot() {
+    StatementStats stats = new StatementStats(
+      fingerprint, calls.sum(), errors.sum(), rows.sum(), acquire.snapshot(), execute.snapshot(), mapping.snapshot());
+    lastSnapshot = new Snapshot(stats, System.nanoTime());
+    return stats;
+  }
+
+  /**
+   * @return The last snapshot if it is recent enough, or a new one.
+   */
+  private StatementStats recentSnapshot() {
+    Snapshot snapshot = lastSnapshot;
+    if (snapshot != null && System.nanoTime() - snapshot.takenAt() < SNAPSHOT_MAX_AGE_NANOS) {
+      return snapshot.stats();
+    }
+    return snapshot();
+  }
+
+  /**
+   * Clears the metrics.
+   */
+  void reset() {
+    acquire.reset();
+    execute.reset();
+    mapping.reset();
+    calls.reset();
+    errors.reset();
+    rows.reset();
+    lastSnapshot = null;
+  }
+
+  @Override
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  @Override
+  public long getCalls() {
+    return recentSnapshot().calls();
+  }
+
+  @Override
+  public long getErrors() {
+    return recentSnapshot().errors();
+  }
+
+  @Override
+  public long getRows() {
+    return recentSnapshot().rows();
+  }
+
+  @Override
+  public double getAcquireP50Micros() {
+    return recentSnapshot().acquire().p50() / 1_000.0;
+  }
+
+  @Override
+  public double getAcquireP99Micros() {
+    return recentSnapshot().acquire().p99() / 1_000.0;
+  }
+
+  @Override
+  public double getExecuteP50Micros() {
+    return recentSnapshot().execute().p50() / 1_000.0;
+  }
+
+  @Override
+  public double getExecuteP95Micros() {
+    return recentSnapshot().execute().p95() / 1_000.0;
+  }
+
+  @Override
+  public double getExecuteP99Micros() {
+    return recentSnapshot().execute().p99() / 1_000.0;
+  }
+
+  @Override
+  public double getExecuteMaxMicros() {
+    return recentSnapshot().execute().max() / 1_000.0;
+  }
+
+  @Override
+  public double getMappingP50Micros() {
+    return recentSnapshot().mapping().p50() / 1_000.0;
+  }
+
+  @Override
+  public double getMappingP99Micros() {
+    return recentSnapshot().mapping().p99() / 1_000.0;
+  }
+}
@@ -0,0 +1,20 @@
+package database;
+
+/**
+ * The metrics of one kind of statement, as shown in JMX consoles under poisepms:type=Statement.
+ * Durations are in microseconds.
+ */
+public interface StatementMetricsMXBean {
+  String getFingerprint();
+  long getCalls();
+  long getErrors();
+  long getRows();
+  double getAcquireP50Micros();
+  double getAcquireP99Micros();
+  double getExecuteP50Micros();
+  double getExecuteP95Micros();
+  double getExecuteP99Micros();
+  double getExecuteMaxMicros();
+  double getMappingP50Micros();
+  double getMappingP99Micros();
+}
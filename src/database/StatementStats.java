@@ -0,0 +1,23 @@
+package database;
+
+/**
+ * A snapshot of the metrics of one kind of statement, used to find where database time goes.
+ *
+ * @param fingerprint The statement with literals replaced by "?" and whitespace collapsed.
+ * @param calls       The number of times the statement was run.
+ * @param errors      The number of runs that failed.
+ * @param rows        The number of rows read, or affected by updates.
+ * @param acquire     How long borrowing a connection from the pool took.
+ * @param execute     How long preparing, binding and executing the statement took.
+ * @param mapping     How long fetching and mapping the rows took, not counting the consumer of streamed rows.
+ */
+public record StatementStats(String fingerprint, long calls, long errors, long rows,
+                             LatencyStats acquire, LatencyStats execute, LatencyStats mapping) {
+
+  /**
+   * @return The total time spent executing the statement, in nanoseconds.
+   */
+  public double totalExecuteNanos() {
+    return execute.mean() * execute.count();
+  }
+}
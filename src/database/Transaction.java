@@ -0,0 +1,146 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A unit of work: several statements run on one connection and committed together.
+ *
+ * Transactions are started with {@link DatabaseManager#inTransaction(Work)}, which commits
+ * them when the work returns and rolls them back if it throws. Cached query results that read
+ * a table written in the transaction are invalidated once it has finished either way.
+ */
+public class Transaction {
+  private final PooledConnection connection;
+  private final List<String> writes = new ArrayList<>();
+
+  /**
+   * The statements to run in a transaction.
+   *
+   * @param <T> The type of the result of the work.
+   */
+  @FunctionalInterface
+  public interface Work<T> {
+    T run(Transaction transaction) throws SQLException;
+  }
+
+  /**
+   * @param connection The connection the transaction runs on, with auto-commit turned off.
+   */
+  Transaction(PooledConnection connection) {
+    this.connection = connection;
+  }
+
+  /**
+   * Executes a SQL update (INSERT, UPDATE, DELETE) as part of the transaction.
+   *
+   * @param query       The SQL query to execute.
+   * @param parameters  The parameters to be set in the query.
+   * @return            The number of affected rows.
+   * @throws SQLException If the update fails. The transaction is then rolled back.
+   */
+  public int executeUpdate(String query, Object... parameters) throws SQLException {
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+    try {
+      PreparedStatement statement = connection.prepareStatement(query);  // Cached, not closed here
+      writes.add(query);
+      DatabaseManager.setParameters(statement, parameters);
+      int affected = statement.executeUpdate();
+      metrics.executed(startedAt);
+      metrics.affected(affected);
+      return affected;
+    } catch (SQLException e) {
+      metrics.failed();
+      throw e;
+    }
+  }
+
+  /**
+   * Executes a SQL INSERT as part of the transaction and returns the key generated for the new row.
+   *
+   * @param query       The SQL INSERT to execute.
+   * @param parameters  The parameters to be set in the query.
+   * @return            The generated key of the inserted row, or -1 if nothing was inserted.
+   * @throws SQLException If the insert fails. The transaction is then rolled back.
+   */
+  public int executeInsert(String query, Object... parameters) throws SQLException {
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+    try {
+      PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+      writes.add(query);
+      DatabaseManager.setParameters(statement, parameters);
+
+      int affected = statement.executeUpdate();
+      metrics.executed(startedAt);
+      metrics.affected(affected);
+      if (affected == 0) {
+        return -1;
+      }
+      try (ResultSet keys = statement.getGeneratedKeys()) {
+        return keys.next() ? keys.getInt(1) : -1;
+      }
+    } catch (SQLException e) {
+      metrics.failed();
+      throw e;
+    }
+  }
+
+  /**
+   * Executes the same SQL INSERT once per row as part of the transaction, sending the rows in
+   * batches of the configured batch size, and returns the keys generated for the new rows.
+   *
+   * With rewriteBatchedStatements enabled, Connector/J sends each batch as one multi-row INSERT.
+   *
+   * @param query The SQL INSERT to execute.
+   * @param rows  The parameters of each row to insert.
+   * @return      The generated keys of the inserted rows, in the order of the rows.
+   * @throws SQLException If an insert fails. The transaction is then rolled back.
+   */
+  public List<Integer> executeBatchInsert(String query, List<Object[]> rows) throws SQLException {
+    StatementMetrics metrics = QueryMetrics.of(query);
+    long startedAt = metrics.started();
+    try {
+      PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+      writes.add(query);
+      int batchSize = DatabaseManager.batchSize();
+      List<Integer> keys = new ArrayList<>(rows.size());
+
+      for (int from = 0; from < rows.size(); from += batchSize) {
+        for (Object[] row : rows.subList(from, Math.min(from + batchSize, rows.size()))) {
+          DatabaseManager.setParameters(statement, row);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+
+        try (ResultSet generated = statement.getGeneratedKeys()) {
+          while (generated.next()) {
+            keys.add(generated.getInt(1));
+          }
+        }
+      }
+
+      if (keys.size() != rows.size()) {
+        throw new SQLException("Expected " + rows.size() + " generated keys but received " + keys.size() + ".");
+      }
+      metrics.executed(startedAt);
+      metrics.affected(keys.size());
+      return keys;
+    } catch (SQLException e) {
+      metrics.failed();
+      throw e;
+    }
+  }
+
+  /**
+   * Invalidates the cached query results that read a table written in the transaction.
+   */
+  void invalidateCachedReads() {
+    writes.forEach(QueryCache::invalidateWritesOf);
+  }
+}
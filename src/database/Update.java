@@ -0,0 +1,61 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class manages the updating of records in the database.
+ */
+public class Update {
+  // Project columns that can be staged by field name
+  private static final Set<String> PROJECT_FIELDS = Set.of(
+    "ProjectName", "BuildingType", "PhysicalAddress", "ERFNumber", "TotalFee", "AmountPaidToDate",
+    "Deadline", "EngineerID", "ManagerID", "ArchitectID", "ContractorID", "CustomerID"
+  );
+
+  /**
+   * Saves the staged edits to a project with a single UPDATE in one transaction,
+   * then clears them and evicts the project from the project cache.
+   *
+   * @param changes The staged edits.
+   * @return        The number of affected rows, 0 if nothing was staged, or -1 if an error occurs.
+   */
+  public static int updateProject(ProjectChanges changes) {
+    if (changes.isEmpty()) {
+      return 0;
+    }
+
+    List<String> assignments = new ArrayList<>();
+    List<Object> parameters = new ArrayList<>();
+    for (Map.Entry<String, Object> field : changes.fields().entrySet()) {
+      assignments.add(field.getKey() + " = ?");
+      parameters.add(field.getValue());
+    }
+    parameters.add(changes.projectNumber());
+
+    String query = "UPDATE projects SET " + String.join(", ", assignments) + " WHERE ProjectNumber = ?";
+    Integer result = DatabaseManager.inTransaction(
+      transaction -> transaction.executeUpdate(query, parameters.toArray()));
+
+    ProjectCache.invalidate(changes.projectNumber());
+    if (result == null) {
+      return -1;
+    }
+    changes.clear();
+    return result;
+  }
+
+  /**
+   * Checks that a project column can be staged by name.
+   *
+   * @param field The name of the column.
+   * @throws IllegalArgumentException If the column cannot be updated by name.
+   */
+  static void checkProjectField(String field) {
+    if (!PROJECT_FIELDS.contains(field)) {
+      throw new IllegalArgumentException("Invalid project field: " + field);
+    }
+  }
+}
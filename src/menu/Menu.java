@@ -2,7 +2,9 @@ package menu;
 
 import java.util.Scanner;
 
+import database.DatabaseManager;
 import menu.options.capture.CaptureProject;
+import menu.options.diagnostics.Diagnostics;
 import menu.options.manage.ManageProject;
 import menu.options.manage.ManagePeople;
 import utils.Utils;
@@ -19,6 +21,8 @@ public class Menu {
    * The menu allows the user to:
    * - Capture a new project
    * - Manage existing projects
+   * - Manage people
+   * - Show database diagnostics
    * - Exit the program
    *
    * The method continuously prompts the user for input until they choose to exit.
@@ -40,6 +44,7 @@ public class Menu {
           1. Capture new project
           2. Manage existing projects
           3. Manage people
+          4. Diagnostics
           
           0. Exit
           
@@ -65,9 +70,15 @@ public class Menu {
           ManagePeople.managePeople(scanner);
           Utils.printDivider(DIVIDER_WIDTH);
           break;
+        // Show database diagnostics
+        case "4":
+          Diagnostics.showDiagnostics(scanner);
+          Utils.printDivider(DIVIDER_WIDTH);
+          break;
         // Exit the program
         case "0":
           System.out.println("Exiting program...");
+          DatabaseManager.shutdown();
           Utils.printDivider(DIVIDER_WIDTH);
           break with;
         // Invalid input
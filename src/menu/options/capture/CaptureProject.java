@@ -1,5 +1,6 @@
 package menu.options.capture;
 
+import database.Repositories;
 import records.Customer;
 import records.Person;
 import records.Project;
@@ -11,10 +12,6 @@ import utils.Utils;
 import java.math.BigDecimal;
 import java.util.*;
 
-import static database.Create.createNewPerson;
-import static database.Create.createNewProject;
-import static database.Read.getAllPersons;
-import static database.Read.getCustomer;
 import static utils.outputs.DisplayProjects.displayProjectsTable;
 
 /**
@@ -42,11 +39,10 @@ public class CaptureProject {
     BigDecimal totalFee = Utils.inputCurrency(scanner, "Total Fee: R");
     Date deadline = Utils.getValidDate(scanner, "Deadline (yyyy-MM-dd): ");
 
-    Customer customer = null;
-    int customerID;
+    Customer customer;
 
     // Retrieve existing customers
-    List<? extends Person> customers = getAllPersons(Customer.class, Collections.emptyList());
+    List<? extends Person> customers = Repositories.persons().findAll(Customer.class, Collections.emptyList());
     DisplayPersons.displayPersonsTable(customers, DIVIDER_WIDTH);
 
     System.out.println("""
@@ -64,7 +60,7 @@ public class CaptureProject {
         String customerEmailAddress = Utils.inputString(scanner, "Customer Email Address: ");
         String customerPhysicalAddress = Utils.inputString(scanner, "Customer Physical Address: ");
 
-        customer = (Customer) createNewPerson(
+        customer = (Customer) Repositories.persons().create(
           "customer",
           customerName,
           customerTelephoneNumber,
@@ -73,9 +69,12 @@ public class CaptureProject {
         );
 
         assert customer != null;
-        customerID = customer.id();
       } else if (customers.stream().anyMatch(c -> c.id() == selectedCustomerID)) {
-        customerID = selectedCustomerID;
+        // Reuse the customer already read for the table above
+        customer = (Customer) customers.stream()
+          .filter(c -> c.id() == selectedCustomerID)
+          .findFirst()
+          .orElseThrow();
       } else {
         System.out.println("Invalid ID selected. Please try again.");
         continue;
@@ -83,23 +82,14 @@ public class CaptureProject {
       break;
     }
 
-    // Ensure customer object is retrieved after selection
-    if (customer == null) {
-      customer = getCustomer(customerID);
-    }
-
     // Assign default project name if not provided
-    if (projectName.isEmpty() && customer != null) {
-      String customerName = customer.name();
-      if (customerName != null && !customerName.isBlank()) {
-        String[] nameParts = customerName.split("\\s+");
-        projectName = (nameParts.length > 1) ? nameParts[1] : nameParts[0];
-      }
+    if (projectName.isEmpty() && customer.name() != null && !customer.name().isBlank()) {
+      projectName = Utils.defaultProjectName(customer.name());
     }
 
     // Capture project
-    Project project = createNewProject(
-      projectName, buildingType, physicalAddress, ERFNumber, totalFee, deadline, customerID
+    Project project = Repositories.projects().create(
+      projectName, buildingType, physicalAddress, ERFNumber, totalFee, deadline, customer
     );
 
     if (project == null) {
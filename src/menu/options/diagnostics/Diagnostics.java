@@ -0,0 +1,156 @@
+package menu.options.diagnostics;
+
+import database.CacheStats;
+import database.DatabaseManager;
+import database.LatencyStats;
+import database.Read;
+import database.Repositories;
+import database.StatementCacheStats;
+import database.StatementStats;
+import utils.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * This class shows where the program spends its time in the database.
+ * It lists the latency, rows and errors of every kind of statement, and the hit rates of the caches.
+ */
+public class Diagnostics {
+  private static final int DIVIDER_WIDTH = 100;
+
+  // Statements longer than this are shortened in the table
+  private static final int FINGERPRINT_WIDTH = 50;
+
+  // The statements that spent the most time executing are listed first, up to this many
+  private static final int MAX_STATEMENTS = 20;
+
+  private Diagnostics() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Displays the diagnostics menu and handles user input until the user returns to the main menu.
+   *
+   * @param scanner The Scanner instance used for reading user input.
+   */
+  public static void showDiagnostics(Scanner scanner) {
+    while (true) {
+      System.out.print("""
+          Diagnostics
+          1. Show statement latencies
+          2. Show cache statistics
+          3. Reset statement latencies
+
+          0. Return to main menu
+
+          Enter your choice:\s""");
+      String choice = scanner.nextLine();
+      Utils.printDivider(DIVIDER_WIDTH);
+
+      switch (choice) {
+        case "1":
+          displayStatementTable(DatabaseManager.statementStats());
+          break;
+        case "2":
+          displayCacheTable();
+          break;
+        case "3":
+          DatabaseManager.resetStatementStats();
+          System.out.println("Statement latencies reset.");
+          break;
+        case "0":
+          return;
+        default:
+          System.out.println("Error: Invalid input.");
+          break;
+      }
+      Utils.printDivider(DIVIDER_WIDTH);
+    }
+  }
+
+  /**
+   * Prints the calls, errors, rows and latencies of each statement. Latencies are in milliseconds.
+   *
+   * @param statements The statement metrics, the most time spent executing first.
+   */
+  private static void displayStatementTable(List<StatementStats> statements) {
+    if (Repositories.isInMemory()) {
+      System.out.println("Note: projects and people are kept in memory, so no statements are run.");
+    }
+    if (statements.isEmpty()) {
+      System.out.println("No statements recorded.");
+      return;
+    }
+
+    String format = "%-" + FINGERPRINT_WIDTH + "s %8s %6s %9s %9s %9s %9s %9s %9s%n";
+    System.out.printf(format, "Statement", "Calls", "Errors", "Rows",
+      "Acq p99", "Exec p50", "Exec p95", "Exec p99", "Map p99");
+
+    for (StatementStats statement : statements.subList(0, Math.min(MAX_STATEMENTS, statements.size()))) {
+      System.out.printf(format,
+        shorten(statement.fingerprint()),
+        statement.calls(),
+        statement.errors(),
+        statement.rows(),
+        millis(statement.acquire().p99()),
+        millis(statement.execute().p50()),
+        millis(statement.execute().p95()),
+        millis(statement.execute().p99()),
+        millis(statement.mapping().p99()));
+    }
+
+    if (statements.size() > MAX_STATEMENTS) {
+      System.out.println("... and " + (statements.size() - MAX_STATEMENTS) + " more statements.");
+    }
+  }
+
+  /**
+   * Prints the hits, misses, evictions and hit rate of each cache.
+   */
+  private static void displayCacheTable() {
+    List<CacheStats> caches = new ArrayList<>();
+    caches.add(Read.queryCacheStats());
+    caches.add(Read.projectCacheStats());
+    caches.addAll(Read.personCacheStats());
+
+    String format = "%-20s %10s %10s %10s %12s %9s%n";
+    System.out.printf(format, "Cache", "Hits", "Misses", "Evictions", "Size", "Hit rate");
+
+    for (CacheStats cache : caches) {
+      System.out.printf(format, cache.name(), cache.hits(), cache.misses(), cache.evictions(),
+        cache.size() + "/" + cache.maxSize(), percent(cache.hitRate()));
+    }
+
+    StatementCacheStats statements = DatabaseManager.statementCacheStats();
+    System.out.printf(format, "Prepared statements", statements.hits(), statements.misses(), statements.evictions(),
+      "", percent(statements.hitRate()));
+  }
+
+  /**
+   * @param fingerprint A statement fingerprint.
+   * @return            The fingerprint, shortened to fit its column.
+   */
+  private static String shorten(String fingerprint) {
+    return (fingerprint.length() <= FINGERPRINT_WIDTH)
+      ? fingerprint
+      : fingerprint.substring(0, FINGERPRINT_WIDTH - 3) + "...";
+  }
+
+  /**
+   * @param nanos A duration in nanoseconds.
+   * @return      The duration in milliseconds, to three decimal places.
+   */
+  private static String millis(long nanos) {
+    return String.format("%.3f", LatencyStats.toMillis(nanos));
+  }
+
+  /**
+   * @param rate A fraction between 0 and 1.
+   * @return     The fraction as a percentage, to one decimal place.
+   */
+  private static String percent(double rate) {
+    return String.format("%.1f%%", rate * 100);
+  }
+}
@@ -1,9 +1,9 @@
 package menu.options.manage;
 
 import records.*;
-import database.DatabaseManager;
-import database.Delete;
-import database.Read;
+import database.ProjectChanges;
+import database.ProjectCriteria;
+import database.Repositories;
 import utils.Utils;
 
 import java.util.ArrayList;
@@ -69,8 +69,7 @@ public class ManagePeople {
       if (people.size() == 1) {
         Person person = people.getFirst();
         if (person.getClass() == Customer.class) {
-          String customerQuery = "SELECT * FROM projects WHERE CustomerID = ?";
-          int numberOfProjects = DatabaseManager.executeQuery(customerQuery, person.id()).size();
+          int numberOfProjects = Repositories.projects().count(ProjectCriteria.all().customer(person.id()));
           System.out.println("WARNING! Deleting a customer will also delete all of their projects.");
           System.out.println("'" + person.name() + "' has " + numberOfProjects + " projects registered to their name.");
         }
@@ -78,7 +77,7 @@ public class ManagePeople {
         System.out.print("y/n [n]: ");
         choice = scanner.nextLine().trim().toLowerCase();
         if (choice.equals("y")) {
-          Delete.deletePerson(person);
+          Repositories.persons().delete(person);
         } else {
           System.out.println("Operation cancelled.");
         }
@@ -135,15 +134,17 @@ public class ManagePeople {
    * @param project The project whose assigned person is being updated.
    * @param field The field in the database representing the person's role.
    * @param role The role of the person being assigned (e.g., "contractor").
+   * @param changes The staged edits of the project, to which the new assignment is added.
    */
-  public static void updateAssignedPerson(Scanner scanner, Project project, String field, String role) {
+  public static void updateAssignedPerson(
+    Scanner scanner, Project project, String field, String role, ProjectChanges changes) {
     Person currentPerson = getPersonByRole(role, project);
     List<? extends Person> persons;
     if (currentPerson == null) {
-      persons = Read.getAllPersons(getClassByRole(role), new ArrayList<>());
+      persons = Repositories.persons().findAll(getClassByRole(role), new ArrayList<>());
     } else {
       List<Person> excludedPersons = List.of(currentPerson);
-      persons = Read.getAllPersons(getClassByRole(role), Utils.extractIds(excludedPersons));
+      persons = Repositories.persons().findAll(getClassByRole(role), Utils.extractIds(excludedPersons));
     }
 
     if (persons.isEmpty()) {
@@ -162,9 +163,8 @@ public class ManagePeople {
       return;
     }
 
-    String query = "UPDATE projects SET " + field + " = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newPersonID, project.projectNumber());
-    System.out.println(role + " has been updated successfully.");
+    changes.set(field, newPersonID);
+    System.out.println("New " + role + " staged. It will be saved when you go back.");
   }
 
   /**
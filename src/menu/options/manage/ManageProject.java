@@ -1,8 +1,8 @@
 package menu.options.manage;
 
-import java.util.List;
 import java.util.Scanner;
 
+import database.Repositories;
 import records.*;
 import utils.Utils;
 
@@ -22,7 +22,7 @@ public class ManageProject {
    * @param scanner The Scanner instance used for reading user input.
    */
   public static void manageProject(Scanner scanner) {
-    List<Project> projects;
+    ProjectSearch search;
     while (true) {
       displayMainProjectMenu();
       String choice = scanner.nextLine();
@@ -30,16 +30,16 @@ public class ManageProject {
 
       switch (choice) {
         case "1":
-          projects = ProjectFinder.findProject(scanner);
+          search = ProjectFinder.findProject(scanner);
           break;
         case "2":
-          projects = ProjectGetter.getIncompleteProjects();
+          search = ProjectGetter.getIncompleteProjects(scanner);
           break;
         case "3":
-          projects = ProjectGetter.getProjectsPastDeadline();
+          search = ProjectGetter.getProjectsPastDeadline(scanner);
           break;
         case "4":
-          projects = ProjectGetter.getProjectsWithUnassignedPeople();
+          search = ProjectGetter.getProjectsWithUnassignedPeople(scanner);
           break;
         case "0":
           System.out.println();
@@ -49,15 +49,19 @@ public class ManageProject {
           continue;
       }
 
-      if (projects.isEmpty()) {
+      if (search.projects().isEmpty()) {
         Utils.printDivider(DIVIDER_WIDTH);
         System.out.println("No projects found matching your criteria.");
       }
-      if (projects.size() == 1) {
-        ProjectChanger.projectChanger(scanner, projects.getFirst());
+      else if (search.matches() == 1) {
+        // Listed projects only hold the displayed fields, so load the whole project for editing
+        Project project = Repositories.projects().findByNumber(search.projects().getFirst().projectNumber());
+        if (project != null) {
+          ProjectChanger.projectChanger(scanner, project);
+        }
       }
       else {
-        System.out.println(projects.size() + " tasks match your criteria.\n" +
+        System.out.println(search.matches() + " tasks match your criteria.\n" +
           "Refine your search or select a task by its Project Number (#).");
       }
 
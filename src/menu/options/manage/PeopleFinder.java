@@ -1,14 +1,12 @@
 package menu.options.manage;
 
 import records.*;
-import database.Read;
+import database.Repositories;
 import utils.Utils;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
 
 /**
  * The ProjectFinder class provides methods for searching and finding projects
@@ -16,6 +14,7 @@ import java.util.stream.Collectors;
  */
 public class PeopleFinder {
   private static final int DIVIDER_WIDTH = 100;
+  private static final int SEARCH_LIMIT = 100;
 
   /**
    * Initiates the project search process. This method displays a menu of search options and retrieves projects based on the user's input.
@@ -38,7 +37,7 @@ public class PeopleFinder {
           name = "";
           break;
         case "2":
-          System.out.println("Enter the project name (or part of it)...");
+          System.out.println("Enter the " + role.getSimpleName().toLowerCase() + "'s name (or part of it)...");
           name = Utils.inputString(scanner, "name: ");
           idNumber = -1;
           break;
@@ -54,19 +53,18 @@ public class PeopleFinder {
           continue;
       }
 
-      List<? extends Person> people = Read.getAllPersons(role, new ArrayList<>());
-      // Filter list to match selected ID
-      if (name.isEmpty() && idNumber != -1) {
-        people = people.stream()
-          .filter(person -> person.id() == idNumber)
-          .findFirst()
-          .map(Collections::singletonList)
-          .orElse(Collections.emptyList());
-      // Filter list to match selected name
-      } if (!name.isEmpty()) {
-        people = people.stream()
-          .filter(person -> person.name().toLowerCase().contains(name.toLowerCase()))
-          .collect(Collectors.toList());
+      // Look the people up by primary key, by name or list them all
+      List<? extends Person> people;
+      if (idNumber != -1) {
+        Person person = Repositories.persons().findById(role, idNumber);
+        people = (person == null) ? new ArrayList<>() : List.of(person);
+      } else if (!name.isEmpty()) {
+        people = Repositories.persons().findByName(role, name, false, SEARCH_LIMIT);
+        if (people.size() == SEARCH_LIMIT) {
+          System.out.println("Showing the first " + SEARCH_LIMIT + " matches. Refine your search to see others.");
+        }
+      } else {
+        people = Repositories.persons().findAll(role, new ArrayList<>());
       }
 
       if (!people.isEmpty()) {
@@ -109,49 +107,6 @@ public class PeopleFinder {
       Enter your choice:\s""");
   }
 
-  /**
-   * Prompts the user to input a project number and returns a query condition based on the input.
-   *
-   * @param scanner The scanner instance used for reading user input.
-   * @return The query condition to be used in the project search.
-   */
-  private static String findPersonByID(Scanner scanner, Class<? extends Person> role) {
-    System.out.println("Enter the ID number...");
-    int idNumber = Utils.inputInteger(scanner, "number: ", false);
-
-    if (role == Architect.class) {
-      return "architectID = " + idNumber;
-    }
-    else if (role == Contractor.class) {
-      return "contractorID = " + idNumber;
-    }
-    else if (role == Customer.class) {
-      return "customerID = " + idNumber;
-    }
-    else if (role == Engineer.class) {
-      return "engineerID = " + idNumber;
-    }
-    else if (role == Manager.class) {
-      return "managerID = " + idNumber;
-    }
-    else {
-      throw new IllegalArgumentException("Invalid role provided: " + role.getName());
-    }
-  }
-
-  /**
-   * Prompts the user to input a project name (or part of it) and returns a query condition based on the input.
-   *
-   * @param scanner The scanner instance used for reading user input.
-   * @return The query condition to be used in the project search.
-   */
-  private static String findPersonByName(Scanner scanner, Class<?> role) {
-    System.out.println("Enter the project name (or part of it)...");
-    String projectName = Utils.inputString(scanner, "name: ").replace("'", "''");
-
-    return "ProjectName LIKE '%" + projectName + "%'";
-  }
-
   /**
    * Handles invalid input by displaying an error message and a divider.
    */
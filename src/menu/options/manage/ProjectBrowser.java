@@ -0,0 +1,92 @@
+package menu.options.manage;
+
+import java.util.Scanner;
+
+import database.ProjectCriteria;
+import database.ProjectPage;
+import database.Repositories;
+import utils.Utils;
+import utils.outputs.DisplayProjects;
+
+/**
+ * The ProjectBrowser class displays matching projects one page at a time,
+ * letting the user move to the next or previous page.
+ */
+public class ProjectBrowser {
+  private static final int DIVIDER_WIDTH = 100;
+
+  // Number of projects shown per page, configurable with -Dpoisepms.page.size
+  private static final int PAGE_SIZE = Math.max(1, Integer.getInteger("poisepms.page.size", 25));
+
+  /**
+   * Displays the first page of projects matching the criteria and lets the user page through them.
+   *
+   * @param scanner  The scanner instance used for reading user input.
+   * @param criteria The criteria to filter the projects.
+   * @param fields   The fields to display and read for each project.
+   * @return The projects on the page the user was viewing when they finished browsing,
+   *         and the number of projects matching the criteria.
+   */
+  public static ProjectSearch browseProjects(Scanner scanner, ProjectCriteria criteria, String... fields) {
+    ProjectPage page = Repositories.projects().findAfter(criteria, 0, PAGE_SIZE, fields);
+    DisplayProjects.displayProjectsTable(page.projects(), DIVIDER_WIDTH, fields);
+    if (!page.hasNext()) {
+      return ProjectSearch.of(page.projects());
+    }
+
+    // Only counted when the matches span several pages
+    int matches = Repositories.projects().count(criteria);
+    int pageNumber = 1;
+
+    while (true) {
+      displayPageMenu(page, pageNumber, matches);
+
+      String choice = scanner.nextLine();
+      Utils.printDivider(DIVIDER_WIDTH);
+
+      switch (choice.toLowerCase()) {
+        case "n":
+          if (page.hasNext()) {
+            page = Repositories.projects().findAfter(criteria, page.lastProjectNumber(), PAGE_SIZE, fields);
+            pageNumber++;
+          }
+          break;
+        case "p":
+          if (page.hasPrevious()) {
+            page = Repositories.projects().findBefore(criteria, page.firstProjectNumber(), PAGE_SIZE, fields);
+            pageNumber--;
+          }
+          break;
+        case "0":
+          return new ProjectSearch(page.projects(), matches);
+        default:
+          System.out.println("Error: Invalid input. Please try again.");
+          Utils.printDivider(DIVIDER_WIDTH);
+      }
+      DisplayProjects.displayProjectsTable(page.projects(), DIVIDER_WIDTH, fields);
+    }
+  }
+
+  /**
+   * Displays the page navigation options that apply to the current page.
+   *
+   * @param page       The page being displayed.
+   * @param pageNumber The number of the page being displayed, starting at 1.
+   * @param matches    The number of projects matching the criteria, or -1 if they could not be counted.
+   */
+  private static void displayPageMenu(ProjectPage page, int pageNumber, int matches) {
+    if (matches >= 0) {
+      int pages = (matches + PAGE_SIZE - 1) / PAGE_SIZE;
+      System.out.println("Page " + pageNumber + " of " + pages + " (" + matches + " projects)");
+    } else {
+      System.out.println("Page " + pageNumber);
+    }
+    if (page.hasNext()) {
+      System.out.println("n. Next page");
+    }
+    if (page.hasPrevious()) {
+      System.out.println("p. Previous page");
+    }
+    System.out.print("0. Done\n\nEnter your choice: ");
+  }
+}
@@ -1,7 +1,8 @@
 package menu.options.manage;
 
 import records.*;
-import database.DatabaseManager;
+import database.ProjectChanges;
+import database.Repositories;
 
 import utils.Utils;
 
@@ -23,27 +24,35 @@ public class ProjectChanger {
    * @param project The project to be updated.
    */
   public static void projectChanger(Scanner scanner, Project project) {
+    // Edits are staged here and saved together when the user goes back
+    ProjectChanges changes = new ProjectChanges(project.projectNumber());
+
     while (true) {
-      displayMainMenu();
+      displayMainMenu(changes);
       String choice = scanner.nextLine();
       Utils.printDivider(DIVIDER_WIDTH);
       switch (choice) {
-        case "1" -> updateProjectName(scanner, project);
-        case "2" -> updateProjectType(scanner, project);
-        case "3" -> updatePhysicalAddress(scanner, project);
-        case "4" -> updateERFNumber(scanner, project);
-        case "5" -> updateTotalFee(scanner, project);
-        case "6" -> updateAmountPaidToDate(scanner, project);
-        case "7" -> updateDeadline(scanner, project);
-        case "8" -> updateFinalised(scanner, project);
-        case "9" -> updateAssignedPerson(scanner, project, "ManagerID", "manager");
-        case "10" -> updateAssignedPerson(scanner, project, "EngineerID", "engineer");
-        case "11" -> updateAssignedPerson(scanner, project, "ArchitectID", "architect");
-        case "12" -> updateAssignedPerson(scanner, project, "ContractorID", "contractor");
-        case "13" -> {deleteProject(scanner, project); return;}
-
-        // Return to previous menu
+        case "1" -> updateProjectName(scanner, changes);
+        case "2" -> updateProjectType(scanner, changes);
+        case "3" -> updatePhysicalAddress(scanner, changes);
+        case "4" -> updateERFNumber(scanner, changes);
+        case "5" -> updateTotalFee(scanner, changes);
+        case "6" -> updateAmountPaidToDate(scanner, changes);
+        case "7" -> updateDeadline(scanner, changes);
+        case "8" -> updateFinalised(scanner, changes);
+        case "9" -> updateAssignedPerson(scanner, project, "ManagerID", "manager", changes);
+        case "10" -> updateAssignedPerson(scanner, project, "EngineerID", "engineer", changes);
+        case "11" -> updateAssignedPerson(scanner, project, "ArchitectID", "architect", changes);
+        case "12" -> updateAssignedPerson(scanner, project, "ContractorID", "contractor", changes);
+        case "13" -> {
+          if (deleteProject(scanner, project, changes)) {
+            return;
+          }
+        }
+
+        // Save the staged edits and return to previous menu
         case "0" -> {
+          saveChanges(changes);
           System.out.println();
           return;
         }
@@ -53,135 +62,138 @@ public class ProjectChanger {
     }
   }
 
-
+  /**
+   * Saves the staged edits to the project in a single update.
+   *
+   * @param changes The staged edits.
+   */
+  private static void saveChanges(ProjectChanges changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    if (Repositories.projects().update(changes) < 0) {
+      System.out.println("Failed to save changes.");
+    } else {
+      System.out.println("Changes saved successfully.");
+    }
+  }
 
   /**
    * Updates the finalised status of the project and sets the completion date if applicable.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose finalised status is being updated.
+   * @param changes The staged edits of the project whose finalised status is being updated.
    */
-  private static void updateFinalised(Scanner scanner, Project project) {
+  private static void updateFinalised(Scanner scanner, ProjectChanges changes) {
     System.out.println("Is the project finalised? (yes/no): ");
     boolean isFinalised = scanner.nextLine().trim().equalsIgnoreCase("yes");
 
-    // Set to finalised
-    String query = "UPDATE projects SET Finalised = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, isFinalised, project.projectNumber());
-
-    // Set or unset CompletionDate if finalised or not
-    if (isFinalised) {
-      query = "UPDATE projects SET CompletionDate = CURDATE() WHERE ProjectNumber = ?";
-    } else {
-      query = "UPDATE projects SET CompletionDate = NULL WHERE ProjectNumber = ?";
-    }
-    DatabaseManager.executeUpdate(query, project.projectNumber());
+    // Set or unset the finalised status and completion date
+    changes.finalised(isFinalised);
 
-    System.out.println("Project finalised status updated.");
+    System.out.println("Finalised status staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the deadline for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose deadline is being updated.
+   * @param changes The staged edits of the project whose deadline is being updated.
    */
-  private static void updateDeadline(Scanner scanner, Project project) {
+  private static void updateDeadline(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new deadline (YYYY-MM-DD): ");
     String newDeadline = scanner.nextLine().trim();
-    String query = "UPDATE projects SET Deadline = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newDeadline, project.projectNumber());
-    System.out.println("Deadline updated successfully.");
+    changes.set("Deadline", newDeadline);
+    System.out.println("Deadline staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the amount paid to date for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose amount paid to date is being updated.
+   * @param changes The staged edits of the project whose amount paid to date is being updated.
    */
-  private static void updateAmountPaidToDate(Scanner scanner, Project project) {
+  private static void updateAmountPaidToDate(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new amount paid to date: ");
     double newAmount = Utils.inputDouble(scanner, ": ", false);
-    String query = "UPDATE projects SET AmountPaidToDate = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newAmount, project.projectNumber());
-    System.out.println("Amount paid updated successfully.");
+    changes.set("AmountPaidToDate", newAmount);
+    System.out.println("Amount paid staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the total fee for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose total fee is being updated.
+   * @param changes The staged edits of the project whose total fee is being updated.
    */
-  private static void updateTotalFee(Scanner scanner, Project project) {
+  private static void updateTotalFee(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new total fee: ");
     double newFee = Utils.inputDouble(scanner, ": ", false);
-    String query = "UPDATE projects SET TotalFee = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newFee, project.projectNumber());
-    System.out.println("Total fee updated successfully.");
+    changes.set("TotalFee", newFee);
+    System.out.println("Total fee staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the ERF number for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose ERF number is being updated.
+   * @param changes The staged edits of the project whose ERF number is being updated.
    */
-  private static void updateERFNumber(Scanner scanner, Project project) {
+  private static void updateERFNumber(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new ERF number: ");
     String newERF = scanner.nextLine().trim();
-    String query = "UPDATE projects SET ERFNumber = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newERF, project.projectNumber());
-    System.out.println("ERF number updated successfully.");
+    changes.set("ERFNumber", newERF);
+    System.out.println("ERF number staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the physical address for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose physical address is being updated.
+   * @param changes The staged edits of the project whose physical address is being updated.
    */
-  private static void updatePhysicalAddress(Scanner scanner, Project project) {
+  private static void updatePhysicalAddress(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new physical address: ");
     String newAddress = scanner.nextLine().trim();
-    String query = "UPDATE projects SET PhysicalAddress = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newAddress, project.projectNumber());
-    System.out.println("Physical address updated successfully.");
+    changes.set("PhysicalAddress", newAddress);
+    System.out.println("Physical address staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the project type for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose project type is being updated.
+   * @param changes The staged edits of the project whose project type is being updated.
    */
-  private static void updateProjectType(Scanner scanner, Project project) {
+  private static void updateProjectType(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new project type: ");
     String newType = scanner.nextLine().trim();
-    String query = "UPDATE projects SET ProjectType = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newType, project.projectNumber());
-    System.out.println("Project type updated successfully.");
+    changes.set("BuildingType", newType);
+    System.out.println("Project type staged. It will be saved when you go back.");
   }
 
   /**
    * Updates the project name for the project.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @param project The project whose project name is being updated.
+   * @param changes The staged edits of the project whose project name is being updated.
    */
-  private static void updateProjectName(Scanner scanner, Project project) {
+  private static void updateProjectName(Scanner scanner, ProjectChanges changes) {
     System.out.println("Enter new project name: ");
     String newName = scanner.nextLine().trim();
-    String query = "UPDATE projects SET ProjectName = ? WHERE ProjectNumber = ?";
-    DatabaseManager.executeUpdate(query, newName, project.projectNumber());
-    System.out.println("Project name updated successfully.");
+    changes.set("ProjectName", newName);
+    System.out.println("Project name staged. It will be saved when you go back.");
   }
 
   /**
    * Displays the main menu for project updates.
+   *
+   * @param changes The staged edits of the project.
    */
-  private static void displayMainMenu() {
+  private static void displayMainMenu(ProjectChanges changes) {
+    if (!changes.isEmpty()) {
+      System.out.println("You have unsaved changes, which are saved when you go back.");
+    }
     System.out.print("""
         Select a field you would wish to update...
         1. Project Name   2. Project Type    3. Address       4. ERF Number
@@ -190,7 +202,7 @@ public class ProjectChanger {
         
         13. Delete Project
         
-        0. Back
+        0. Save and go back
         
         Enter your choice:\s""");
   }
@@ -204,12 +216,17 @@ public class ProjectChanger {
   }
 
   /**
-   * Deletes selected project from the database.
+   * Deletes selected project from the database, discarding its staged edits.
    *
    * @param scanner The scanner instance used for reading user input.
    * @param project The project to delete.
+   * @param changes The staged edits of the project, kept if the deletion is cancelled.
+   * @return        True if the project was deleted.
    */
-  private static void deleteProject(Scanner scanner, Project project) {
+  private static boolean deleteProject(Scanner scanner, Project project, ProjectChanges changes) {
+    if (!changes.isEmpty()) {
+      System.out.println("Your unsaved changes to this project will be lost.");
+    }
     System.out.println("Are you sure you wish to delete this project?");
     System.out.print("y/n [n]: ");
     String confirmation = scanner.nextLine().trim();
@@ -218,11 +235,12 @@ public class ProjectChanger {
       System.out.println("Enter '" + project.projectName() + "' (case-sensitive) to confirm...");
       confirmation = scanner.nextLine().trim();
       if (confirmation.equals(project.projectName())) {
-        database.Delete.deleteProject(project);
-        return;
+        Repositories.projects().delete(project);
+        return true;
       }
     }
 
     System.out.println("Operation cancelled.");
+    return false;
   }
 }
\ No newline at end of file
@@ -4,9 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
+import database.ProjectCriteria;
+import database.Repositories;
 import records.Project;
 import utils.Utils;
-import static database.Read.readProjects;
 import static utils.outputs.DisplayProjects.displayProjectsTable;
 
 /**
@@ -16,39 +17,37 @@ import static utils.outputs.DisplayProjects.displayProjectsTable;
 public class ProjectFinder {
   private static final int DIVIDER_WIDTH = 100;
 
+  // Fields shown in the results table, also used as the projection when searching by name
+  private static final String[] PROJECT_FIELDS = {
+    "Project Name", "Building Type", "Physical Address", "ERF No.",
+    "Total Fee", "Start Date", "Deadline", "Customer"
+  };
+
   /**
    * Initiates the project search process. This method displays a menu of search options and retrieves projects based on the user's input.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @return A list of projects that match the search criteria.
+   * @return The projects that match the search criteria, and how many there are.
    */
-  public static List<Project> findProject(Scanner scanner) {
+  public static ProjectSearch findProject(Scanner scanner) {
     while (true) {
       displayFindProjectMenu();
       String choice = scanner.nextLine();
       Utils.printDivider(DIVIDER_WIDTH);
 
-      String condition;
       switch (choice) {
         case "1":
-          condition = findProjectByID(scanner);
-          break;
+          List<Project> projects = findProjectByID(scanner);
+          displayProjectsTable(projects, DIVIDER_WIDTH, PROJECT_FIELDS);
+          return ProjectSearch.of(projects);
         case "2":
-          condition = findProjectByName(scanner);
-          break;
+          return ProjectBrowser.browseProjects(scanner, findProjectByName(scanner), PROJECT_FIELDS);
         case "0":
           Utils.printDivider(DIVIDER_WIDTH);
-          return new ArrayList<>();
+          return ProjectSearch.of(new ArrayList<>());
         default:
           handleInvalidInput();
-          continue;
       }
-
-      List<Project> projects = readProjects("AND", condition);
-      displayProjectsTable(projects, DIVIDER_WIDTH,
-        "Project Name", "Building Type", "Physical Address", "ERF No.",
-        "Total Fee", "Start Date", "Deadline", "Customer");
-      return projects;
     }
   }
 
@@ -66,27 +65,28 @@ public class ProjectFinder {
   }
 
   /**
-   * Prompts the user to input a project number and returns a query condition based on the input.
+   * Prompts the user to input a project number and looks the project up, using the project cache.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @return The query condition to be used in the project search.
+   * @return A list containing the project, or an empty list if it does not exist.
    */
-  private static String findProjectByID(Scanner scanner) {
+  private static List<Project> findProjectByID(Scanner scanner) {
     System.out.println("Enter the project number...");
     int projectNumber = Utils.inputInteger(scanner, "number: ", false);
-    return "ProjectNumber = " + projectNumber;
+    Project project = Repositories.projects().findByNumber(projectNumber);
+    return (project == null) ? new ArrayList<>() : List.of(project);
   }
 
   /**
-   * Prompts the user to input a project name (or part of it) and returns a query condition based on the input.
+   * Prompts the user to input a project name (or part of it) and returns the search criteria based on the input.
    *
    * @param scanner The scanner instance used for reading user input.
-   * @return The query condition to be used in the project search.
+   * @return The criteria to be used in the project search.
    */
-  private static String findProjectByName(Scanner scanner) {
+  private static ProjectCriteria findProjectByName(Scanner scanner) {
     System.out.println("Enter the project name (or part of it)...");
-    String projectName = Utils.inputString(scanner, "name: ").replace("'", "''");
-    return "ProjectName LIKE '%" + projectName + "%'";
+    String projectName = Utils.inputString(scanner, "name: ");
+    return ProjectCriteria.all().projectNameContains(projectName);
   }
 
   /**
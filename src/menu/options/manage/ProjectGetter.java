@@ -2,68 +2,68 @@ package menu.options.manage;
 
 import java.util.*;
 
-import records.Project;
-import utils.outputs.DisplayProjects;
-
-import static database.Read.readProjects;
+import database.ProjectCriteria;
+import records.*;
 
 /**
  * The ProjectGetter class provides methods for retrieving different sets of projects
  * based on various criteria such as project completion, past deadlines, or unassigned people.
  */
 public class ProjectGetter {
-  private static final int DIVIDER_WIDTH = 100;
+  // Fields shown in the project tables, also used as the projection when reading the projects
+  private static final String[] PROJECT_FIELDS = {
+    "Project Name", "Building Type", "Physical Address", "ERF No.",
+    "Total Fee", "Start Date", "Deadline", "Customer"
+  };
+  private static final String[] UNASSIGNED_FIELDS = {
+    "Project Name", "Building Type", "Physical Address", "ERF No.",
+    "Total Fee", "Start Date", "Deadline",
+    "Engineer", "Manager", "Architect", "Contractor", "Customer"
+  };
 
   /**
    * Retrieves a list of incomplete projects (projects that are not finalised).
-   * Displays the project details in a table format.
+   * Displays the project details in a table format, one page at a time.
    *
-   * @return A list of incomplete projects.
+   * @param scanner The scanner instance used for reading user input.
+   * @return        The incomplete projects on the last page viewed, and how many there are.
    */
-  public static List<Project> getIncompleteProjects() {
+  public static ProjectSearch getIncompleteProjects(Scanner scanner) {
     System.out.println("Incomplete projects...");
-    List<Project> projects = readProjects("AND", "Finalised = FALSE");
-    DisplayProjects.displayProjectsTable(projects, DIVIDER_WIDTH,
-      "Project Name", "Building Type", "Physical Address", "ERF No.",
-      "Total Fee", "Start Date", "Deadline", "Customer");
-    return projects;
+    return ProjectBrowser.browseProjects(scanner, ProjectCriteria.all().finalised(false), PROJECT_FIELDS);
   }
 
   /**
    * Retrieves a list of projects that are past their deadlines and are not finalised.
-   * Displays the project details in a table format.
+   * Displays the project details in a table format, one page at a time.
    *
-   * @return A list of projects that are past deadline.
+   * @param scanner The scanner instance used for reading user input.
+   * @return        The projects past deadline on the last page viewed, and how many there are.
    */
-  public static List<Project> getProjectsPastDeadline() {
+  public static ProjectSearch getProjectsPastDeadline(Scanner scanner) {
     System.out.println("Projects past deadline");
-    List<Project> projects = readProjects("AND", "CURRENT_DATE > Deadline", "Finalised = FALSE");
-    DisplayProjects.displayProjectsTable(projects, DIVIDER_WIDTH,
-      "Project Name", "Building Type", "Physical Address", "ERF No.",
-      "Total Fee", "Start Date", "Deadline", "Customer");
-    return projects;
+    return ProjectBrowser.browseProjects(
+      scanner, ProjectCriteria.all().pastDeadline().finalised(false), PROJECT_FIELDS);
   }
 
   /**
    * Retrieves a list of projects that have unassigned people (Engineer, Manager, Architect, Contractor, or Customer).
-   * Displays the project details in a table format with the names of unassigned people.
+   * Displays the project details in a table format with the names of unassigned people, one page at a time.
    *
-   * @return A list of projects with unassigned people.
+   * @param scanner The scanner instance used for reading user input.
+   * @return        The projects with unassigned people on the last page viewed, and how many there are.
    */
-  public static List<Project> getProjectsWithUnassignedPeople() {
+  public static ProjectSearch getProjectsWithUnassignedPeople(Scanner scanner) {
     System.out.println("Projects with unassigned people");
-    List<Project> projects = readProjects(
-      "OR",
-      "EngineerID is NULL",
-      "ManagerID is NULL",
-      "ArchitectID is NULL",
-      "ContractorID is NULL",
-      "CustomerID is NULL"
+    return ProjectBrowser.browseProjects(
+      scanner,
+      ProjectCriteria.any()
+        .unassigned(Engineer.class)
+        .unassigned(Manager.class)
+        .unassigned(Architect.class)
+        .unassigned(Contractor.class)
+        .unassigned(Customer.class),
+      UNASSIGNED_FIELDS
     );
-    DisplayProjects.displayProjectsTable(projects, DIVIDER_WIDTH,
-      "Project Name", "Building Type", "Physical Address", "ERF No.",
-      "Total Fee", "Start Date", "Deadline",
-      "Engineer", "Manager", "Architect", "Contractor", "Customer");
-    return projects;
   }
 }
@@ -0,0 +1,22 @@
+package menu.options.manage;
+
+import records.Project;
+
+import java.util.List;
+
+/**
+ * The outcome of a project search: the projects the user was last shown, and how many projects matched in all.
+ *
+ * @param projects The projects on the page the user was viewing when they finished browsing.
+ * @param matches  The number of projects matching the search, across every page.
+ */
+public record ProjectSearch(List<Project> projects, int matches) {
+
+  /**
+   * @param projects Every project matching a search, all shown on one page.
+   * @return         The search outcome.
+   */
+  public static ProjectSearch of(List<Project> projects) {
+    return new ProjectSearch(projects, projects.size());
+  }
+}
@@ -99,17 +99,7 @@ public class Utils {
     while (true) {
       try {
         System.out.print(prompt);
-        String input = scanner.nextLine().strip();
-
-        // Parse input as BigDecimal
-        BigDecimal number = new BigDecimal(input);
-
-        // Check if the number is negative
-        if (number.compareTo(BigDecimal.ZERO) < 0) {
-          throw new InputMismatchException("Number must be positive");
-        }
-
-        return number;
+        return parseCurrency(scanner.nextLine());
 
       } catch (NumberFormatException | InputMismatchException e) {
         System.out.println("Invalid input. Please enter a positive amount.");
@@ -117,6 +107,26 @@ public class Utils {
     }
   }
 
+  /**
+   * Parses a currency amount, which must not be negative.
+   *
+   * @param input The text to parse.
+   * @return The amount.
+   * @throws NumberFormatException If the text is not a number.
+   * @throws InputMismatchException If the amount is negative.
+   */
+  public static BigDecimal parseCurrency(String input) {
+    // Parse input as BigDecimal
+    BigDecimal number = new BigDecimal(input.strip());
+
+    // Check if the number is negative
+    if (number.compareTo(BigDecimal.ZERO) < 0) {
+      throw new InputMismatchException("Number must be positive");
+    }
+
+    return number;
+  }
+
   /**
    * Prompts the user for a non-empty string input.
    *
@@ -173,38 +183,57 @@ public class Utils {
    * @return The valid Date object.
    */
   public static Date getValidDate(Scanner scanner, String prompt) {
-    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-    boolean isValidDate = false;
-    String inputDate;
-    Date validDate = null;
-    Date currentDate = new Date(); // Current date
-
-    // Enforcing strict validation
-    dateFormat.setLenient(false);
-
     // Loop until a valid date is entered
-    while (!isValidDate) {
+    while (true) {
       System.out.print(prompt);
-      inputDate = scanner.nextLine();
+      String inputDate = scanner.nextLine();
 
       try {
-        // Try to parse the input date
-        validDate = dateFormat.parse(inputDate);
-
-        // Check if the entered date is earlier than the current date
-        if (validDate.before(currentDate)) {
-          System.out.println("The date cannot be earlier than today's date. Please enter a valid date.");
-        } else {
-          isValidDate = true; // Valid date is entered
-        }
+        return parseValidDate(inputDate);
       } catch (ParseException e) {
         System.out.println("Invalid date format. Please enter a valid date (yyyy-MM-dd).");
+      } catch (IllegalArgumentException e) {
+        System.out.println(e.getMessage() + " Please enter a valid date.");
       }
     }
+  }
+
+  /**
+   * Parses a date in the format yyyy-MM-dd. The date must be later than today's date.
+   *
+   * @param input The text to parse.
+   * @return The date.
+   * @throws ParseException If the text is not a valid date.
+   * @throws IllegalArgumentException If the date is earlier than today's date.
+   */
+  public static Date parseValidDate(String input) throws ParseException {
+    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
+    // Enforcing strict validation
+    dateFormat.setLenient(false);
+    Date validDate = dateFormat.parse(input);
+
+    // Check if the entered date is earlier than the current date
+    if (validDate.before(new Date())) {
+      throw new IllegalArgumentException("The date cannot be earlier than today's date.");
+    }
     return validDate;
   }
 
+  /**
+   * Derives a project name from the customer's name, used when a project is captured without one.
+   *
+   * @param customerName The name and surname of the customer.
+   * @return The customer's surname, or their only name, or null if the customer has no name.
+   */
+  public static String defaultProjectName(String customerName) {
+    if (customerName == null || customerName.isBlank()) {
+      return null;
+    }
+    String[] nameParts = customerName.strip().split("\\s+");
+    return (nameParts.length > 1) ? nameParts[1] : nameParts[0];
+  }
+
   /**
    * Extracts the IDs of a list of persons.
    *
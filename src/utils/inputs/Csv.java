@@ -0,0 +1,74 @@
+package utils.inputs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for reading comma-separated values.
+ *
+ * Fields may be wrapped in double quotes to contain commas, and a double quote inside a
+ * quoted field is written twice. Quoted fields cannot span several lines.
+ */
+public class Csv {
+
+  private Csv() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Splits one line of a CSV file into its fields.
+   *
+   * @param line The line to split.
+   * @return The fields of the line, with quotes removed and surrounding whitespace stripped.
+   * @throws IllegalArgumentException If a quoted field is not closed.
+   */
+  public static List<String> parseLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');  // Escaped quote
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString().strip());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+
+    if (quoted) {
+      throw new IllegalArgumentException("Unclosed quoted field.");
+    }
+    fields.add(field.toString().strip());
+    return fields;
+  }
+
+  /**
+   * Reads the header line of a CSV file.
+   *
+   * @param line The header line.
+   * @return The index of each column, keyed by its lower-case name.
+   */
+  public static Map<String, Integer> parseHeader(String line) {
+    List<String> names = parseLine(line.replace("\uFEFF", ""));  // Ignore a byte order mark
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      columns.putIfAbsent(names.get(i).toLowerCase(), i);
+    }
+    return columns;
+  }
+}
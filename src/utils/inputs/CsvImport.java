@@ -0,0 +1,569 @@
+package utils.inputs;
+
+import database.DatabaseManager;
+import database.Read;
+import database.Repositories;
+import records.*;
+import utils.Utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Imports projects and people from CSV files.
+ *
+ * Files are read line by line and handed to a pool of workers in chunks. The workers parse and
+ * validate the rows with the same rules as the capture menus and the column sizes of the schema,
+ * and a single writer inserts each chunk with a batched insert. If a batch fails, the chunk is
+ * split in half and each half retried, so only the rows the database refuses are rejected. Only
+ * a fixed number of chunks may be read but not yet written, so reading waits for the workers and
+ * the writer to catch up and memory use stays bounded no matter how large the file is.
+ *
+ * The first line of a file names its columns (in any order, case-insensitive):
+ * <pre>
+ *   People:   Name, TelephoneNumber, EmailAddress, PhysicalAddress
+ *   Projects: ProjectName, BuildingType, PhysicalAddress, ERFNumber, TotalFee, Deadline, CustomerID
+ *             and optionally EngineerID, ManagerID, ArchitectID, ContractorID
+ * </pre>
+ */
+public class CsvImport {
+  // Import settings, overridable with -Dpoisepms.import.<setting>=<value>
+  private static final int CHUNK_SIZE = Math.max(1, Integer.getInteger("poisepms.import.chunkSize", 1000));
+  private static final int WORKERS =
+    Math.max(1, Integer.getInteger("poisepms.import.workers", Runtime.getRuntime().availableProcessors()));
+  private static final int MAX_CHUNKS_IN_FLIGHT =
+    Math.max(1, Integer.getInteger("poisepms.import.maxChunksInFlight", WORKERS * 2));
+
+  // Rejected lines beyond this many are counted but not printed
+  private static final int MAX_PRINTED_REJECTIONS = 100;
+
+  // Rows between progress messages
+  private static final long PROGRESS_INTERVAL = 100_000;
+
+  private static final String[] PERSON_COLUMNS = {"name", "telephonenumber", "emailaddress", "physicaladdress"};
+  private static final String[] PROJECT_COLUMNS = {
+    "projectname", "buildingtype", "physicaladdress", "erfnumber", "totalfee", "deadline", "customerid"
+  };
+
+  // Widths of the VARCHAR columns in init_database/createTables.sql, checked before inserting
+  private static final Map<String, Integer> PERSON_COLUMN_WIDTHS = Map.of(
+    "name", 100, "telephonenumber", 15, "emailaddress", 100, "physicaladdress", 255);
+  private static final Map<String, Integer> PROJECT_COLUMN_WIDTHS = Map.of(
+    "projectname", 100, "buildingtype", 50, "physicaladdress", 255, "erfnumber", 50);
+
+  // Largest amount a DECIMAL(10,2) column holds
+  private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+  /**
+   * A line of the file and its line number.
+   *
+   * @param number The line number, starting at 1 for the header.
+   * @param text   The text of the line.
+   */
+  private record Line(long number, String text) {
+  }
+
+  /**
+   * The valid rows of a chunk, ready to be inserted.
+   *
+   * @param rows  The parsed rows.
+   * @param lines The line each row was parsed from, in the same order.
+   * @param <T>   The type of the rows.
+   */
+  private record Chunk<T>(List<T> rows, List<Line> lines) {
+  }
+
+  /**
+   * Parses and validates the lines of a chunk.
+   *
+   * @param <T> The type of the rows.
+   */
+  @FunctionalInterface
+  private interface ChunkParser<T> {
+    Chunk<T> parse(List<Line> lines, Rejections rejections);
+  }
+
+  /**
+   * Counts rejected lines and prints the first few, from any thread.
+   */
+  private static class Rejections {
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * @param line   The rejected line.
+     * @param reason Why the line was rejected.
+     */
+    void reject(Line line, String reason) {
+      if (count.incrementAndGet() <= MAX_PRINTED_REJECTIONS) {
+        System.out.println("Rejected line " + line.number() + ": " + reason);
+      }
+    }
+
+    /**
+     * @return The number of rejected lines.
+     */
+    long count() {
+      return count.get();
+    }
+  }
+
+  private CsvImport() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Imports people of one role from a CSV file.
+   *
+   * @param file  The CSV file to import.
+   * @param clazz The class type of the people (e.g., Contractor.class).
+   * @param <T>   The type of person.
+   * @return      The number of rows imported and rejected, and the import rate.
+   * @throws IOException If the file could not be read.
+   */
+  public static <T extends Person> ImportReport importPersons(Path file, Class<T> clazz) throws IOException {
+    return importFile(file, PERSON_COLUMNS,
+      columns -> (lines, rejections) -> parsePersons(columns, clazz, lines, rejections),
+      rows -> Repositories.persons().createAll(clazz, rows).size());
+  }
+
+  /**
+   * Imports projects from a CSV file. Every person a project refers to must already exist.
+   *
+   * @param file The CSV file to import.
+   * @return     The number of rows imported and rejected, and the import rate.
+   * @throws IOException If the file could not be read.
+   */
+  public static ImportReport importProjects(Path file) throws IOException {
+    return importFile(file, PROJECT_COLUMNS,
+      columns -> (lines, rejections) -> parseProjects(columns, lines, rejections),
+      rows -> Repositories.projects().createAll(rows).size());
+  }
+
+  /**
+   * Streams a CSV file through the parsing workers and the writer.
+   *
+   * @param file            The CSV file to import.
+   * @param requiredColumns The lower-case names of the columns the file must have.
+   * @param parserFactory   Creates the chunk parser once the columns of the file are known.
+   * @param writer          Inserts the rows of a chunk and returns how many were inserted.
+   * @param <T>             The type of the rows.
+   * @return                The number of rows imported and rejected, and the import rate.
+   * @throws IOException If the file could not be read.
+   */
+  private static <T> ImportReport importFile(
+    Path file, String[] requiredColumns,
+    Function<Map<String, Integer>, ChunkParser<T>> parserFactory,
+    ToIntFunction<List<T>> writer) throws IOException {
+
+    long startedAt = System.nanoTime();
+    long rowsRead = 0;
+    AtomicLong rowsImported = new AtomicLong();
+    Rejections rejections = new Rejections();
+
+    ExecutorService parsers = Executors.newFixedThreadPool(WORKERS);
+    ExecutorService writerThread = Executors.newSingleThreadExecutor();
+    Semaphore chunksInFlight = new Semaphore(MAX_CHUNKS_IN_FLIGHT);
+    CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
+
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String header = reader.readLine();
+      if (header == null) {
+        return new ImportReport(0, 0, 0, System.nanoTime() - startedAt);
+      }
+      Map<String, Integer> columns = Csv.parseHeader(header);
+      for (String column : requiredColumns) {
+        if (!columns.containsKey(column)) {
+          throw new IOException("Missing column '" + column + "' in " + file);
+        }
+      }
+      ChunkParser<T> parser = parserFactory.apply(columns);
+
+      List<Line> lines = new ArrayList<>(CHUNK_SIZE);
+      long lineNumber = 1;
+      String text;
+      while ((text = reader.readLine()) != null) {
+        lineNumber++;
+        if (text.isBlank()) {
+          continue;
+        }
+        lines.add(new Line(lineNumber, text));
+        rowsRead++;
+
+        if (lines.size() == CHUNK_SIZE) {
+          writes = submit(lines, parser, writer, writes, parsers, writerThread,
+            chunksInFlight, rejections, rowsImported);
+          lines = new ArrayList<>(CHUNK_SIZE);
+        }
+      }
+      if (!lines.isEmpty()) {
+        writes = submit(lines, parser, writer, writes, parsers, writerThread,
+          chunksInFlight, rejections, rowsImported);
+      }
+
+      writes.join();
+    } finally {
+      parsers.shutdown();
+      writerThread.shutdown();
+    }
+
+    return new ImportReport(rowsRead, rowsImported.get(), rejections.count(), System.nanoTime() - startedAt);
+  }
+
+  /**
+   * Hands a chunk to the parsing workers and queues it to be written after every earlier chunk.
+   * Waits first if too many chunks are already being parsed or written.
+   *
+   * @return A future completed once the chunk, and every chunk before it, has been written.
+   */
+  private static <T> CompletableFuture<Void> submit(
+    List<Line> lines, ChunkParser<T> parser, ToIntFunction<List<T>> writer,
+    CompletableFuture<Void> previousWrites, ExecutorService parsers, ExecutorService writerThread,
+    Semaphore chunksInFlight, Rejections rejections, AtomicLong rowsImported) {
+
+    chunksInFlight.acquireUninterruptibly();  // Backpressure on the reader
+    CompletableFuture<Chunk<T>> parsed = CompletableFuture.supplyAsync(() -> parser.parse(lines, rejections), parsers);
+
+    return CompletableFuture.allOf(previousWrites, parsed).handleAsync((ignored, error) -> {
+      try {
+        if (parsed.isCompletedExceptionally()) {
+          lines.forEach(line -> rejections.reject(line, "Chunk could not be parsed: " + error.getMessage()));
+          return null;
+        }
+
+        Chunk<T> chunk = parsed.join();
+        if (chunk.rows().isEmpty()) {
+          return null;
+        }
+        AtomicInteger failedBatches = new AtomicInteger();
+        int inserted = write(chunk.rows(), chunk.lines(), writer, rejections, failedBatches);
+        if (failedBatches.get() > 0) {
+          System.out.println("Lines " + chunk.lines().getFirst().number() + " to " + chunk.lines().getLast().number()
+            + ": " + failedBatches.get() + " batch inserts failed and were retried in smaller batches.");
+        }
+
+        long total = rowsImported.addAndGet(inserted);
+        if (total / PROGRESS_INTERVAL != (total - inserted) / PROGRESS_INTERVAL) {
+          System.out.println("Imported " + total + " rows...");
+        }
+        return null;
+      } catch (RuntimeException e) {
+        // Never let a chunk fail the import, or its lines go uncounted
+        List<Line> unwritten = parsed.isCompletedExceptionally() ? lines : parsed.join().lines();
+        unwritten.forEach(line -> rejections.reject(line, "Chunk could not be imported: " + e.getMessage()));
+        return null;
+      } finally {
+        chunksInFlight.release();
+      }
+    }, writerThread);
+  }
+
+  /**
+   * Inserts rows with the writer. The writer inserts all of the rows or none of them, so when a
+   * batch fails it is split in half and each half is retried, until the rows that fail are found
+   * and rejected on their own. Only the errors of single-row inserts are printed; failed batches
+   * of several rows are counted instead.
+   *
+   * @param rows          The rows to insert.
+   * @param lines         The line each row was parsed from, in the same order.
+   * @param writer        Inserts the rows and returns how many were inserted.
+   * @param rejections    The rejected lines.
+   * @param failedBatches Counts the batches of several rows that failed and were split.
+   * @param <T>           The type of the rows.
+   * @return              The number of rows inserted.
+   */
+  private static <T> int write(List<T> rows, List<Line> lines, ToIntFunction<List<T>> writer,
+                               Rejections rejections, AtomicInteger failedBatches) {
+    String failure;
+    try {
+      int inserted = (rows.size() == 1)
+        ? writer.applyAsInt(rows)
+        : DatabaseManager.withoutErrorOutput(() -> writer.applyAsInt(rows));
+      if (inserted > 0) {
+        return inserted;
+      }
+      failure = "Insert failed.";
+    } catch (RuntimeException e) {
+      failure = "Insert failed: " + e.getMessage();
+    }
+
+    if (rows.size() == 1) {
+      rejections.reject(lines.getFirst(), failure);
+      return 0;
+    }
+    failedBatches.incrementAndGet();
+    int half = rows.size() / 2;
+    return write(rows.subList(0, half), lines.subList(0, half), writer, rejections, failedBatches)
+      + write(rows.subList(half, rows.size()), lines.subList(half, lines.size()), writer, rejections, failedBatches);
+  }
+
+  /**
+   * Parses and validates the people in a chunk of lines.
+   *
+   * @param columns    The column indexes of the file.
+   * @param clazz      The class type of the people.
+   * @param lines      The lines to parse.
+   * @param rejections The rejected lines.
+   * @param <T>        The type of person.
+   * @return           The valid people and their lines.
+   */
+  private static <T extends Person> Chunk<T> parsePersons(
+    Map<String, Integer> columns, Class<T> clazz, List<Line> lines, Rejections rejections) {
+
+    List<T> persons = new ArrayList<>(lines.size());
+    List<Line> accepted = new ArrayList<>(lines.size());
+
+    for (Line line : lines) {
+      try {
+        List<String> fields = Csv.parseLine(line.text());
+        persons.add(Read.createPerson(
+          clazz,
+          0,
+          required(fields, columns, "name", PERSON_COLUMN_WIDTHS),
+          required(fields, columns, "telephonenumber", PERSON_COLUMN_WIDTHS),
+          required(fields, columns, "emailaddress", PERSON_COLUMN_WIDTHS),
+          required(fields, columns, "physicaladdress", PERSON_COLUMN_WIDTHS)
+        ));
+        accepted.add(line);
+      } catch (IllegalArgumentException e) {
+        rejections.reject(line, e.getMessage());
+      }
+    }
+
+    return new Chunk<>(persons, accepted);
+  }
+
+  /**
+   * Parses and validates the projects in a chunk of lines, then resolves the people they
+   * refer to with one query per role, the five roles concurrently.
+   *
+   * @param columns    The column indexes of the file.
+   * @param lines      The lines to parse.
+   * @param rejections The rejected lines.
+   * @return           The valid projects and their lines.
+   */
+  private static Chunk<Project> parseProjects(Map<String, Integer> columns, List<Line> lines, Rejections rejections) {
+    record Row(Line line, List<String> fields, BigDecimal totalFee, Date deadline,
+               Integer customerID, Integer engineerID, Integer managerID, Integer architectID, Integer contractorID) {
+    }
+
+    // Validate each line on its own
+    List<Row> rows = new ArrayList<>(lines.size());
+    for (Line line : lines) {
+      try {
+        List<String> fields = Csv.parseLine(line.text());
+        optional(fields, columns, "projectname", PROJECT_COLUMN_WIDTHS);
+        required(fields, columns, "buildingtype", PROJECT_COLUMN_WIDTHS);
+        required(fields, columns, "physicaladdress", PROJECT_COLUMN_WIDTHS);
+        required(fields, columns, "erfnumber", PROJECT_COLUMN_WIDTHS);
+        rows.add(new Row(
+          line,
+          fields,
+          parseCurrency(required(fields, columns, "totalfee")),
+          parseDate(required(fields, columns, "deadline")),
+          parseID(required(fields, columns, "customerid")),
+          parseID(optional(fields, columns, "engineerid")),
+          parseID(optional(fields, columns, "managerid")),
+          parseID(optional(fields, columns, "architectid")),
+          parseID(optional(fields, columns, "contractorid"))
+        ));
+      } catch (IllegalArgumentException e) {
+        rejections.reject(line, e.getMessage());
+      }
+    }
+
+    // Resolve the people of the whole chunk at once, each role on its own virtual thread
+    CompletableFuture<Map<Integer, Customer>> customerLookup =
+      findByIdsAsync(Customer.class, rows.stream().map(Row::customerID).toList());
+    CompletableFuture<Map<Integer, Engineer>> engineerLookup =
+      findByIdsAsync(Engineer.class, rows.stream().map(Row::engineerID).toList());
+    CompletableFuture<Map<Integer, Manager>> managerLookup =
+      findByIdsAsync(Manager.class, rows.stream().map(Row::managerID).toList());
+    CompletableFuture<Map<Integer, Architect>> architectLookup =
+      findByIdsAsync(Architect.class, rows.stream().map(Row::architectID).toList());
+    CompletableFuture<Map<Integer, Contractor>> contractorLookup =
+      findByIdsAsync(Contractor.class, rows.stream().map(Row::contractorID).toList());
+
+    Map<Integer, Customer> customers = customerLookup.join();
+    Map<Integer, Engineer> engineers = engineerLookup.join();
+    Map<Integer, Manager> managers = managerLookup.join();
+    Map<Integer, Architect> architects = architectLookup.join();
+    Map<Integer, Contractor> contractors = contractorLookup.join();
+
+    List<Project> projects = new ArrayList<>(rows.size());
+    List<Line> accepted = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      try {
+        Customer customer = resolve(customers, row.customerID(), "Customer");
+        String projectName = optional(row.fields(), columns, "projectname");
+        if (projectName == null) {
+          projectName = Utils.defaultProjectName(customer.name());
+          if (projectName == null) {
+            throw new IllegalArgumentException("'projectname' cannot be empty, as customer " + customer.id() + " has no name.");
+          }
+          checkWidth(projectName, "projectname", PROJECT_COLUMN_WIDTHS);
+        }
+
+        projects.add(new Project(
+          0,
+          projectName,
+          required(row.fields(), columns, "buildingtype"),
+          required(row.fields(), columns, "physicaladdress"),
+          required(row.fields(), columns, "erfnumber"),
+          row.totalFee(),
+          BigDecimal.ZERO,
+          null,
+          row.deadline(),
+          false,
+          null,
+          resolve(engineers, row.engineerID(), "Engineer"),
+          resolve(managers, row.managerID(), "Manager"),
+          resolve(architects, row.architectID(), "Architect"),
+          resolve(contractors, row.contractorID(), "Contractor"),
+          customer
+        ));
+        accepted.add(row.line());
+      } catch (IllegalArgumentException e) {
+        rejections.reject(row.line(), e.getMessage());
+      }
+    }
+
+    return new Chunk<>(projects, accepted);
+  }
+
+  /**
+   * Starts looking up people of one role by ID on a virtual thread.
+   *
+   * @param clazz The class type of the people.
+   * @param ids   The IDs of the people. Null IDs are ignored.
+   * @param <T>   The type of person.
+   * @return      A future completed with the people found, keyed by their ID.
+   */
+  private static <T extends Person> CompletableFuture<Map<Integer, T>> findByIdsAsync(Class<T> clazz, List<Integer> ids) {
+    return DatabaseManager.supplyAsync(() -> Repositories.persons().findByIds(clazz, ids));
+  }
+
+  /**
+   * @return The value of a column that must not be empty.
+   * @throws IllegalArgumentException If the value is empty or missing.
+   */
+  private static String required(List<String> fields, Map<String, Integer> columns, String column) {
+    String value = optional(fields, columns, column);
+    if (value == null) {
+      throw new IllegalArgumentException("'" + column + "' cannot be empty.");
+    }
+    return value;
+  }
+
+  /**
+   * @return The value of a column that must not be empty and must fit the width of its database column.
+   * @throws IllegalArgumentException If the value is empty, missing or too long.
+   */
+  private static String required(List<String> fields, Map<String, Integer> columns, String column,
+                                 Map<String, Integer> widths) {
+    return checkWidth(required(fields, columns, column), column, widths);
+  }
+
+  /**
+   * @return The value of a column, or null if it is empty, missing or not in the file.
+   */
+  private static String optional(List<String> fields, Map<String, Integer> columns, String column) {
+    Integer index = columns.get(column);
+    if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+      return null;
+    }
+    return fields.get(index);
+  }
+
+  /**
+   * @return The value of a column that must fit the width of its database column, or null if it is empty.
+   * @throws IllegalArgumentException If the value is too long.
+   */
+  private static String optional(List<String> fields, Map<String, Integer> columns, String column,
+                                 Map<String, Integer> widths) {
+    return checkWidth(optional(fields, columns, column), column, widths);
+  }
+
+  /**
+   * @return The value, if it fits the width of its database column.
+   * @throws IllegalArgumentException If the value is longer than the column.
+   */
+  private static String checkWidth(String value, String column, Map<String, Integer> widths) {
+    int width = widths.get(column);
+    if (value != null && value.length() > width) {
+      throw new IllegalArgumentException("'" + column + "' cannot be longer than " + width + " characters.");
+    }
+    return value;
+  }
+
+  /**
+   * Parses an amount with the rules of {@link Utils#inputCurrency}.
+   *
+   * @throws IllegalArgumentException If the amount is not a positive number, or too large for the database.
+   */
+  private static BigDecimal parseCurrency(String value) {
+    BigDecimal amount;
+    try {
+      amount = Utils.parseCurrency(value);
+    } catch (NumberFormatException | InputMismatchException e) {
+      throw new IllegalArgumentException("Invalid amount '" + value + "'. It must be a positive amount.");
+    }
+    if (amount.compareTo(MAX_AMOUNT) > 0) {
+      throw new IllegalArgumentException("Invalid amount '" + value + "'. It cannot be more than " + MAX_AMOUNT + ".");
+    }
+    return amount;
+  }
+
+  /**
+   * Parses a date with the rules of {@link Utils#getValidDate}.
+   *
+   * @throws IllegalArgumentException If the date is invalid or earlier than today.
+   */
+  private static Date parseDate(String value) {
+    try {
+      return Utils.parseValidDate(value);
+    } catch (ParseException e) {
+      throw new IllegalArgumentException("Invalid date '" + value + "'. It must be in the format yyyy-MM-dd.");
+    }
+  }
+
+  /**
+   * @return The ID, or null if no value was given.
+   * @throws IllegalArgumentException If the value is not a whole number.
+   */
+  private static Integer parseID(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid ID '" + value + "'.");
+    }
+  }
+
+  /**
+   * @return The person with the given ID, or null if no ID was given.
+   * @throws IllegalArgumentException If no person with the ID exists.
+   */
+  private static <T extends Person> T resolve(Map<Integer, T> persons, Integer id, String role) {
+    if (id == null) {
+      return null;
+    }
+    T person = persons.get(id);
+    if (person == null) {
+      throw new IllegalArgumentException(role + " " + id + " does not exist.");
+    }
+    return person;
+  }
+}
@@ -0,0 +1,25 @@
+package utils.inputs;
+
+/**
+ * The outcome of importing a CSV file.
+ *
+ * @param rowsRead     The number of data rows read from the file.
+ * @param rowsImported The number of rows inserted into the database.
+ * @param rowsRejected The number of rows that failed validation or could not be inserted.
+ * @param elapsedNanos How long the import took, in nanoseconds.
+ */
+public record ImportReport(long rowsRead, long rowsImported, long rowsRejected, long elapsedNanos) {
+
+  /**
+   * @return The number of rows imported per second, or 0 if no time has passed.
+   */
+  public double rowsPerSecond() {
+    return (elapsedNanos == 0) ? 0 : rowsImported * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d rows read, %d imported, %d rejected in %.1fs (%.0f rows/sec)",
+      rowsRead, rowsImported, rowsRejected, elapsedNanos / 1_000_000_000.0, rowsPerSecond());
+  }
+}
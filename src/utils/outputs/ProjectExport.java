@@ -0,0 +1,222 @@
+package utils.outputs;
+
+import database.ProjectCriteria;
+import database.Repositories;
+import records.Person;
+import records.Project;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+/**
+ * Utility class to export projects to CSV or JSON Lines files.
+ *
+ * Projects are written as they are read from a forward-only database cursor, so no list of
+ * projects is built and memory use stays constant however many projects are exported.
+ * People are exported by name.
+ */
+public class ProjectExport {
+  // Size of the buffer in front of the file channel
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final String[] COLUMNS = {
+    "ProjectNumber", "ProjectName", "BuildingType", "PhysicalAddress", "ERFNumber",
+    "TotalFee", "AmountPaidToDate", "StartDate", "Deadline", "Finalised", "CompletionDate",
+    "Engineer", "Manager", "Architect", "Contractor", "Customer"
+  };
+
+  /**
+   * The formats projects can be exported in.
+   */
+  public enum Format {
+    CSV,
+    JSON_LINES
+  }
+
+  private ProjectExport() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Exports the projects matching the criteria to a file, replacing the file if it exists.
+   *
+   * @param file     The file to write.
+   * @param format   The format to write the projects in.
+   * @param criteria The criteria to filter the projects.
+   * @return         The number of projects exported, or -1 if they could not be read.
+   * @throws IOException If the file could not be written.
+   */
+  public static long exportProjects(Path file, Format format, ProjectCriteria criteria) throws IOException {
+    FileChannel channel = FileChannel.open(file,
+      StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+    try (Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      if (format == Format.CSV) {
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+      }
+
+      return Repositories.projects().stream(criteria, project -> {
+        try {
+          if (format == Format.CSV) {
+            writeCsv(writer, project);
+          } else {
+            writeJson(writer, project);
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Writes a project as one CSV line.
+   *
+   * @param writer  The writer to write to.
+   * @param project The project to write.
+   * @throws IOException If the project could not be written.
+   */
+  private static void writeCsv(Writer writer, Project project) throws IOException {
+    Object[] values = values(project);
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(csvField(values[i]));
+    }
+    writer.write('\n');
+  }
+
+  /**
+   * Writes a project as one JSON object on its own line.
+   *
+   * @param writer  The writer to write to.
+   * @param project The project to write.
+   * @throws IOException If the project could not be written.
+   */
+  private static void writeJson(Writer writer, Project project) throws IOException {
+    Object[] values = values(project);
+    writer.write('{');
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(jsonString(COLUMNS[i]));
+      writer.write(':');
+      writer.write(jsonValue(values[i]));
+    }
+    writer.write("}\n");
+  }
+
+  /**
+   * @param project The project.
+   * @return        The values of the project, in the order of {@link #COLUMNS}.
+   */
+  private static Object[] values(Project project) {
+    return new Object[] {
+      project.projectNumber(),
+      project.projectName(),
+      project.buildingType(),
+      project.physicalAddress(),
+      project.erfNumber(),
+      project.totalFee(),
+      project.amountPaidToDate(),
+      project.startDate(),
+      project.deadline(),
+      project.finalised(),
+      project.completionDate(),
+      nameOf(project.engineer()),
+      nameOf(project.manager()),
+      nameOf(project.architect()),
+      nameOf(project.contractor()),
+      nameOf(project.customer())
+    };
+  }
+
+  /**
+   * @param person A person, or null if no one is assigned.
+   * @return       The name of the person, or null if no one is assigned.
+   */
+  private static String nameOf(Person person) {
+    return (person == null) ? null : person.name();
+  }
+
+  /**
+   * @param value A value of a project.
+   * @return      The value as text: dates as yyyy-MM-dd and amounts without exponents.
+   */
+  private static String text(Object value) {
+    return switch (value) {
+      case java.math.BigDecimal amount -> amount.toPlainString();
+      case java.sql.Date date -> date.toString();
+      case Date date -> new java.sql.Date(date.getTime()).toString();
+      default -> String.valueOf(value);
+    };
+  }
+
+  /**
+   * @param value A value of a project, or null.
+   * @return      The value as a CSV field, quoted if it contains a comma, quote or line break.
+   */
+  private static String csvField(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = text(value);
+    if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+      return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+    return text;
+  }
+
+  /**
+   * @param value A value of a project, or null.
+   * @return      The value as a JSON value. Numbers and booleans are written bare, everything else as a string.
+   */
+  private static String jsonValue(Object value) {
+    return switch (value) {
+      case null -> "null";
+      case Integer number -> number.toString();
+      case Boolean bool -> bool.toString();
+      case java.math.BigDecimal amount -> amount.toPlainString();
+      default -> jsonString(text(value));
+    };
+  }
+
+  /**
+   * @param text The text to quote.
+   * @return     The text as a JSON string, with quotes, backslashes and control characters escaped.
+   */
+  private static String jsonString(String text) {
+    StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    return json.append('"').toString();
+  }
+}
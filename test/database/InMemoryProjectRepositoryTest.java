@@ -0,0 +1,184 @@
+package database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import records.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProjectRepositoryTest {
+  private InMemoryPersonRepository persons;
+  private InMemoryProjectRepository repository;
+  private Customer alice;
+  private Customer bob;
+  private Engineer engineer;
+
+  @BeforeEach
+  void setUp() {
+    persons = new InMemoryPersonRepository();
+    repository = new InMemoryProjectRepository(persons);
+    alice = (Customer) persons.create("customer", "Alice", "0111", "alice@example.com", "1 Main Road");
+    bob = (Customer) persons.create("customer", "Bob", "0222", "bob@example.com", "2 Main Road");
+    engineer = (Engineer) persons.create("engineer", "Erin", "0333", "erin@example.com", "3 Main Road");
+  }
+
+  @Test
+  void findsProjectsMatchingAllCriteria() {
+    Project house = create("House Alice", daysFromNow(-5), alice);
+    create("Shop Alice", daysFromNow(5), alice);
+    create("House Bob", daysFromNow(-5), bob);
+
+    assertEquals(List.of(house.projectNumber()),
+      numbers(repository.find(ProjectCriteria.all().customer(alice.id()).pastDeadline())));
+    assertEquals(2, repository.count(ProjectCriteria.all().projectNameContains("house")));
+    assertEquals(0, repository.count(ProjectCriteria.all().finalised(true)));
+  }
+
+  @Test
+  void findsProjectsMatchingAnyCriteria() {
+    Project house = create("House Alice", daysFromNow(5), alice);
+    create("Shop Alice", daysFromNow(5), alice);
+    Project shop = create("Shop Bob", daysFromNow(-5), bob);
+
+    assertEquals(List.of(house.projectNumber(), shop.projectNumber()),
+      numbers(repository.find(ProjectCriteria.any().projectNameContains("House").pastDeadline())));
+  }
+
+  @Test
+  void findsUnassignedProjects() {
+    Project assigned = create("Assigned", daysFromNow(5), alice);
+    Project unassigned = create("Unassigned", daysFromNow(5), alice);
+    assertEquals(1, repository.update(new ProjectChanges(assigned.projectNumber()).set("EngineerID", engineer.id())));
+
+    assertEquals(List.of(unassigned.projectNumber()),
+      numbers(repository.find(ProjectCriteria.all().unassigned(Engineer.class))));
+    assertEquals(engineer, repository.findByNumber(assigned.projectNumber()).engineer());
+  }
+
+  @Test
+  void pagesForwardAndBackwardByProjectNumber() {
+    List<Integer> numbers = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      numbers.add(create("Project " + i, daysFromNow(5), (i % 2 == 0) ? alice : bob).projectNumber());
+    }
+    ProjectCriteria criteria = ProjectCriteria.all().customer(alice.id());
+
+    ProjectPage first = repository.findAfter(criteria, 0, 2);
+    assertEquals(List.of(numbers.get(0), numbers.get(2)), numbers(first.projects()));
+    assertFalse(first.hasPrevious());
+    assertTrue(first.hasNext());
+
+    ProjectPage last = repository.findAfter(criteria, first.lastProjectNumber(), 2);
+    assertEquals(List.of(numbers.get(4), numbers.get(6)), numbers(last.projects()));
+    assertTrue(last.hasPrevious());
+    assertFalse(last.hasNext());
+
+    ProjectPage previous = repository.findBefore(criteria, last.firstProjectNumber(), 2);
+    assertEquals(numbers(first.projects()), numbers(previous.projects()));
+    assertFalse(previous.hasPrevious());
+    assertTrue(previous.hasNext());
+  }
+
+  @Test
+  void updateMovesProjectBetweenIndexes() {
+    Project project = create("House", daysFromNow(-5), alice);
+
+    ProjectChanges changes = new ProjectChanges(project.projectNumber())
+      .set("CustomerID", bob.id())
+      .set("Deadline", daysFromNow(5))
+      .finalised(true);
+    assertEquals(1, repository.update(changes));
+    assertTrue(changes.isEmpty());
+
+    assertEquals(0, repository.count(ProjectCriteria.all().customer(alice.id())));
+    assertEquals(1, repository.count(ProjectCriteria.all().customer(bob.id())));
+    assertEquals(0, repository.count(ProjectCriteria.all().finalised(false)));
+    assertEquals(1, repository.count(ProjectCriteria.all().finalised(true)));
+    assertEquals(0, repository.count(ProjectCriteria.all().pastDeadline()));
+    assertEquals(bob, repository.findByNumber(project.projectNumber()).customer());
+  }
+
+  @Test
+  void updateRejectsMissingPeople() {
+    Project project = create("House", daysFromNow(5), alice);
+
+    assertEquals(-1, repository.update(new ProjectChanges(project.projectNumber()).set("EngineerID", 999)));
+    assertNull(repository.findByNumber(project.projectNumber()).engineer());
+  }
+
+  @Test
+  void updateOfMissingProjectAffectsNothing() {
+    assertEquals(0, repository.update(new ProjectChanges(999).set("ProjectName", "Nothing")));
+  }
+
+  @Test
+  void readersNeverMissAProjectWhileItIsUpdated() throws InterruptedException {
+    Project project = create("House", daysFromNow(5), alice);
+    ProjectCriteria byNumber = ProjectCriteria.all().projectNumber(project.projectNumber());
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicInteger misses = new AtomicInteger();
+
+    Thread reader = Thread.ofPlatform().start(() -> {
+      while (running.get()) {
+        if (repository.findByNumber(project.projectNumber()) == null || repository.count(byNumber) != 1) {
+          misses.incrementAndGet();
+        }
+      }
+    });
+    for (int i = 0; i < 20_000; i++) {
+      repository.update(new ProjectChanges(project.projectNumber())
+        .set("ProjectName", "House " + i)
+        .set("CustomerID", (i % 2 == 0) ? bob.id() : alice.id()));
+    }
+    running.set(false);
+    reader.join();
+
+    assertEquals(0, misses.get());
+  }
+
+  @Test
+  void deleteRemovesProjectFromEveryIndex() {
+    Project project = create("House", daysFromNow(-5), alice);
+
+    repository.delete(project);
+
+    assertNull(repository.findByNumber(project.projectNumber()));
+    assertEquals(0, repository.count(ProjectCriteria.all()));
+    assertEquals(0, repository.count(ProjectCriteria.all().customer(alice.id())));
+    assertEquals(0, repository.count(ProjectCriteria.all().pastDeadline()));
+  }
+
+  @Test
+  void deletingPeopleUnassignsThemOrDeletesTheirProjects() {
+    Project house = create("House", daysFromNow(5), alice);
+    Project shop = create("Shop", daysFromNow(5), bob);
+    repository.update(new ProjectChanges(house.projectNumber()).set("EngineerID", engineer.id()));
+
+    persons.delete(engineer);
+    assertNull(repository.findByNumber(house.projectNumber()).engineer());
+    assertEquals(2, repository.count(ProjectCriteria.all().unassigned(Engineer.class)));
+
+    persons.delete(alice);
+    assertNull(repository.findByNumber(house.projectNumber()));
+    assertEquals(List.of(shop.projectNumber()), numbers(repository.find(ProjectCriteria.all())));
+  }
+
+  private Project create(String name, java.sql.Date deadline, Customer customer) {
+    return repository.create(name, "House", "1 Main Road", "ERF1", new BigDecimal("1000"), deadline, customer);
+  }
+
+  private static java.sql.Date daysFromNow(int days) {
+    return java.sql.Date.valueOf(LocalDate.now().plusDays(days));
+  }
+
+  private static List<Integer> numbers(List<Project> projects) {
+    return projects.stream().map(Project::projectNumber).toList();
+  }
+}
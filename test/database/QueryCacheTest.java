@@ -0,0 +1,72 @@
+package database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheTest {
+
+  @Test
+  void failedLoadIsNotCached() {
+    String sql = "SELECT ProjectNumber FROM projects WHERE ProjectName = ?";
+    Object[] parameters = {"failed load"};
+
+    assertEquals(List.of(), QueryCache.get(sql, parameters, () -> null));
+
+    AtomicInteger loads = new AtomicInteger();
+    assertEquals(List.of(1), QueryCache.get(sql, parameters, () -> load(loads, 1)));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void repeatedReadIsServedFromCache() {
+    String sql = "SELECT ProjectNumber FROM projects WHERE ProjectName = ?";
+    Object[] parameters = {"repeated read"};
+    AtomicInteger loads = new AtomicInteger();
+
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void writeToRoleTableInvalidatesProjectReads() {
+    String sql = "SELECT p.ProjectNumber FROM projects p LEFT JOIN customers c ON c.CustomerID = p.CustomerID"
+      + " WHERE p.ProjectName = ?";
+    Object[] parameters = {"role cascade"};
+    AtomicInteger loads = new AtomicInteger();
+
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+    // Deleting an engineer unassigns them from projects, though the query never joins engineers
+    QueryCache.invalidateWritesOf("DELETE FROM engineers WHERE EngineerID = ?");
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void writeToOtherTableKeepsUnrelatedReads() {
+    String sql = "SELECT CustomerID FROM customers WHERE Name = ?";
+    Object[] parameters = {"unrelated write"};
+    AtomicInteger loads = new AtomicInteger();
+
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+    QueryCache.invalidateWritesOf("UPDATE engineers SET Name = ? WHERE EngineerID = ?");
+    QueryCache.invalidateWritesOf("INSERT INTO projects (ProjectName) VALUES (?)");
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+    assertEquals(1, loads.get());
+
+    QueryCache.invalidateWritesOf("UPDATE customers SET Name = ? WHERE CustomerID = ?");
+    QueryCache.get(sql, parameters, () -> load(loads, 1));
+    assertEquals(2, loads.get());
+  }
+
+  private static List<Integer> load(AtomicInteger loads, int row) {
+    loads.incrementAndGet();
+    return List.of(row);
+  }
+}
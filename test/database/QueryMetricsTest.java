@@ -0,0 +1,32 @@
+package database;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+
+  @Test
+  void fingerprintReplacesLiterals() {
+    assertEquals("SELECT * FROM projects WHERE ProjectName = ? AND TotalFee > ?",
+      QueryMetrics.fingerprint("SELECT *  FROM projects\n WHERE ProjectName = 'It''s' AND TotalFee > 10.5"));
+  }
+
+  @Test
+  void fingerprintCollapsesInListsOfAnyLength() {
+    String expected = "SELECT * FROM engineers WHERE EngineerID IN (...)";
+    assertEquals(expected, QueryMetrics.fingerprint("SELECT * FROM engineers WHERE EngineerID IN (?)"));
+    assertEquals(expected, QueryMetrics.fingerprint("SELECT * FROM engineers WHERE EngineerID IN (?,?,?)"));
+    assertEquals(expected, QueryMetrics.fingerprint("SELECT * FROM engineers WHERE EngineerID IN ( 1, 2, 3 )"));
+  }
+
+  @Test
+  void fingerprintsBeyondTheLimitShareOneEntry() {
+    for (int i = 0; i < 1_000; i++) {
+      QueryMetrics.of("SELECT * FROM table_" + i);
+    }
+
+    assertTrue(QueryMetrics.stats().size() <= 501);
+    assertSame(QueryMetrics.of("SELECT * FROM unseen_table"), QueryMetrics.of("SELECT * FROM another_unseen_table"));
+  }
+}